@@ -0,0 +1,45 @@
+package com.example.jobup.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool for attachment processing (scan, disk write, image decode, insert).
+ * When it is saturated the submitting request thread does the work itself, which
+ * throttles uploads instead of queueing without limit.
+ */
+@Configuration
+public class AttachmentExecutorConfig {
+
+    @Value("${file.upload.parallelism:4}")
+    private int parallelism;
+
+    @Value("${file.upload.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService attachmentExecutor(MeterRegistry meterRegistry) {
+        AtomicInteger seq = new AtomicInteger();
+        ThreadFactory threads = r -> {
+            Thread t = new Thread(r, "attachment-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threads,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "attachments");
+    }
+}
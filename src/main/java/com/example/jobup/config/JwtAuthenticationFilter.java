@@ -1,6 +1,11 @@
 package com.example.jobup.config;
 
+import com.example.jobup.security.CurrentUser;
+import com.example.jobup.security.TokenRevocationList;
+import com.example.jobup.security.VerifiedClaims;
+import com.example.jobup.security.VerifiedTokenCache;
 import com.example.jobup.services.JwtUtil;
+import com.example.jobup.services.TokenVersionService;
 import com.example.jobup.services.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,6 +13,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +30,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -43,20 +55,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String jwt = authHeader.substring(7); // safe now
 
         try {
-            // If you implemented Option B with separate claims:
-            // String userId = jwtUtil.extractUserId(jwt); // sub
-            // String usernameClaim = jwtUtil.extractPreferredUsername(jwt);
-
-            // If you haven't renamed helpers yet, this still works:
-            String userId = jwtUtil.extractUserId(jwt);
-            String usernameClaim = jwtUtil.extractPreferredUsername(jwt);
-
-            if (usernameClaim != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(usernameClaim);
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    var principalObj = new com.example.jobup.security.CurrentUser(userId, usernameClaim);
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(principalObj, null, userDetails.getAuthorities());
+            // At most one signature check per token; repeats are served from the cache
+            VerifiedTokenCache.Entry verified = verifiedTokenCache.getOrVerify(jwt);
+            VerifiedClaims claims = verified.claims();
+            String usernameClaim = claims.preferredUsername();
+
+            // Revoked (logged-out) tokens simply stay anonymous; checked in memory, no I/O
+            boolean revoked = tokenRevocationList.isRevoked(claims.tokenId());
+
+            if (!revoked && usernameClaim != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                boolean claimsAreCurrent = stateless && tokenVersionService.isCurrent(claims);
+                UsernamePasswordAuthenticationToken authToken = claimsAreCurrent
+                        ? authenticateFromClaims(verified)
+                        : authenticateFromDatabase(claims);
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -68,6 +80,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     }
 
+    // Fast path: roles come straight from the verified token, no Mongo round trip
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(VerifiedTokenCache.Entry verified) {
+        return new UsernamePasswordAuthenticationToken(verified.principal(), null, verified.authorities());
+    }
+
+    // Slow path: database mode, tokens whose roles claim predates a role addition, and every token until
+    // TokenVersionService has loaded. Tokens older than a credential change never get here: the cache rejects them
+    private UsernamePasswordAuthenticationToken authenticateFromDatabase(VerifiedClaims claims) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.preferredUsername());
+        if (!jwtUtil.validateToken(claims, userDetails)) {
+            return null;
+        }
+        var principalObj = new CurrentUser(claims.userId(), claims.preferredUsername());
+        return new UsernamePasswordAuthenticationToken(principalObj, null, userDetails.getAuthorities());
+    }
+
     @Override
     protected boolean shouldNotFilter(jakarta.servlet.http.HttpServletRequest request) {
         String path = request.getRequestURI();
@@ -1,8 +1,12 @@
 package com.example.jobup.config;
 
+import com.example.jobup.security.PooledPasswordEncoder;
 import com.example.jobup.services.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,7 +20,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -33,6 +36,19 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsServiceImpl userDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.pool-size:4}")
+    private int hashPoolSize;
+
+    @Value("${security.password.queue-capacity:64}")
+    private int hashQueueCapacity;
+
+    @Value("${security.password.timeout-ms:5000}")
+    private long hashTimeoutMs;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -40,6 +56,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses finish on an ASYNC dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // ===== Public =====
                         .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/auth/**").permitAll()
@@ -54,6 +72,10 @@ public class SecurityConfig {
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/files/*").permitAll()
 
                         // ===== Open READ-ONLY catalog (optional) =====
+                        // Composed profile embeds rating stats and completed deals; same roles as /api/deals/worker/*/rating-stats
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/workers/*/profile").hasAnyRole("CLIENT", "WORKER")
+                        // Bulk import creates workers and grants ROLE_WORKER for arbitrary users
+                        .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/workers/import").hasRole("ADMIN")
                         // Allow anyone to browse workers, but protect writes
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/workers/**").permitAll()
 
@@ -127,6 +149,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes stored passwords on successful login when bcrypt-strength changes
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -135,8 +159,10 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public PooledPasswordEncoder passwordEncoder() {
+        return new PooledPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength),
+                hashPoolSize, hashQueueCapacity, hashTimeoutMs, meterRegistry);
     }
 }
@@ -1,8 +1,17 @@
 package com.example.jobup.config;
 
+import com.example.jobup.entities.User;
 import com.example.jobup.repositories.UserRepository;
-import com.example.jobup.services.JwtUtil;
+import com.example.jobup.security.TokenRevocationList;
+import com.example.jobup.security.VerifiedClaims;
+import com.example.jobup.security.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -11,12 +20,40 @@ import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${websocket.legacy-user-cache.max-size:1000}")
+    private int legacyCacheMaxSize;
+
+    // username -> userId, only for old tokens whose subject is still the username
+    private Map<String, String> legacyUserIds;
+    private Timer connectSuccess;
+    private Timer connectRejected;
+
+    @PostConstruct
+    void init() {
+        legacyUserIds = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > legacyCacheMaxSize;
+            }
+        });
+        connectSuccess = Timer.builder("websocket.connect.auth").tag("outcome", "success").register(meterRegistry);
+        connectRejected = Timer.builder("websocket.connect.auth").tag("outcome", "rejected").register(meterRegistry);
+    }
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -25,22 +62,50 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
         if (accessor == null) return message;
 
         if (StompCommand.CONNECT.equals(accessor.getCommand())) {
-            String token = resolveToken(accessor);
-            if (token != null && jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-
-                // map username -> userId (fallback to username if not found)
-                String userId = userRepository.findByUsername(username)
-                        .map(u -> u.getId())
-                        .orElse(username);
-
+            long start = System.nanoTime();
+            String userId = authenticate(resolveToken(accessor));
+            if (userId != null) {
                 // set Principal name to userId so convertAndSendToUser(recipientId, ...) matches
                 accessor.setUser(() -> userId);
             }
+            (userId != null ? connectSuccess : connectRejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
         return message;
     }
 
+    private String authenticate(String token) {
+        if (token == null) return null;
+        VerifiedClaims claims;
+        try {
+            claims = verifiedTokenCache.getOrVerify(token).claims();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("JWT validation error: {}", e.getMessage());
+            return null;
+        }
+        if (tokenRevocationList.isRevoked(claims.tokenId())) {
+            return null;
+        }
+        // Current tokens: the subject already is the user id
+        if (!isLegacy(claims)) {
+            return claims.userId();
+        }
+        String username = claims.userId();
+        String cached = legacyUserIds.get(username);
+        if (cached != null) return cached;
+
+        // map username -> userId (fallback to username if not found); lookup runs outside the map lock
+        String userId = userRepository.findByUsername(username)
+                .map(User::getId)
+                .orElse(username);
+        legacyUserIds.put(username, userId);
+        return userId;
+    }
+
+    // Tokens minted before the subject switched to the user id carry the username as subject
+    private boolean isLegacy(VerifiedClaims claims) {
+        return claims.preferredUsername() == null || claims.preferredUsername().equals(claims.userId());
+    }
+
     private String resolveToken(StompHeaderAccessor accessor) {
         // Prefer standard Authorization header
         String auth = accessor.getFirstNativeHeader("Authorization");
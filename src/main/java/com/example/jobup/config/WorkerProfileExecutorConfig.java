@@ -0,0 +1,45 @@
+package com.example.jobup.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool for the concurrent lookups behind a worker profile. Unlike the attachment
+ * pool it rejects work when saturated: the caller degrades the profile rather than
+ * running the lookups on the request thread past their deadline.
+ */
+@Configuration
+public class WorkerProfileExecutorConfig {
+
+    @Value("${workers.profile.parallelism:8}")
+    private int parallelism;
+
+    @Value("${workers.profile.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService workerProfileExecutor(MeterRegistry meterRegistry) {
+        AtomicInteger seq = new AtomicInteger();
+        ThreadFactory threads = r -> {
+            Thread t = new Thread(r, "worker-profile-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threads,
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "worker-profile");
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.jobup.controller;
 
 import com.example.jobup.dto.AuthResponseDto;
+import com.example.jobup.dto.AvailabilityResponseDto;
 import com.example.jobup.dto.LoginRequestDto;
+import com.example.jobup.dto.RefreshTokenRequestDto;
 import com.example.jobup.dto.RegisterRequestDto;
 import com.example.jobup.dto.UserUpdateRequestDto;
 import com.example.jobup.entities.User;
+import com.example.jobup.exceptions.DuplicateAccountException;
+import com.example.jobup.exceptions.ServiceOverloadedException;
+import com.example.jobup.security.LoginRateLimiter;
 import com.example.jobup.services.AuthService;
+import com.example.jobup.services.UserAvailabilityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +33,8 @@ import java.util.stream.Collectors;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final UserAvailabilityService userAvailabilityService;
 
     @PostMapping("/register")
     @Operation(summary = "Register a new user", description = "Creates a new user with ROLE_CLIENT by default")
@@ -31,6 +42,10 @@ public class AuthController {
         try {
             AuthResponseDto response = authService.register(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (DuplicateAccountException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -38,15 +53,62 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "Login user", description = "Authenticates user and returns JWT token with roles")
-    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto request) {
+    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto request,
+                                                 HttpServletRequest httpRequest) {
+        long retryAfter = loginRateLimiter.tryAcquire(request.getUsername(), httpRequest.getRemoteAddr());
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .build();
+        }
         try {
             AuthResponseDto response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens", description = "Exchanges a refresh token for a new access token and a rotated refresh token")
+    public ResponseEntity<AuthResponseDto> refresh(@RequestBody RefreshTokenRequestDto request) {
+        try {
+            return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revokes the refresh token family and the presented access token")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshTokenRequestDto request,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = (authorization != null && authorization.startsWith("Bearer ")) ? authorization.substring(7) : null;
+        authService.logout(request != null ? request.getRefreshToken() : null, accessToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Check username/email availability", description = "Live signup-form check; either parameter may be omitted")
+    public ResponseEntity<AvailabilityResponseDto> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            HttpServletRequest httpRequest
+    ) {
+        long retryAfter = loginRateLimiter.tryAcquireLookup(httpRequest.getRemoteAddr());
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .build();
+        }
+        return ResponseEntity.ok(AvailabilityResponseDto.builder()
+                .usernameAvailable(username != null ? userAvailabilityService.isUsernameAvailable(username) : null)
+                .emailAvailable(email != null ? userAvailabilityService.isEmailAvailable(email) : null)
+                .build());
+    }
+
     @PutMapping("/update")
     @Operation(summary = "Update current user info")
     public ResponseEntity<AuthResponseDto> updateCurrentUser(
@@ -57,6 +119,10 @@ public class AuthController {
         try {
             AuthResponseDto response = authService.updateUser(userId, request);
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (DuplicateAccountException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -4,12 +4,18 @@ import com.example.jobup.dto.ChatMessageDto;
 import com.example.jobup.entities.MessageType;
 import com.example.jobup.entities.UserType;
 import com.example.jobup.services.ChatService;
+import com.example.jobup.util.ConditionalGet;
+import com.example.jobup.util.StreamingJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,10 +26,18 @@ import java.util.List;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping(value = "/{chatId}/messages", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<ChatMessageDto>> getChatMessages(@PathVariable String chatId) {
-        return ResponseEntity.ok(chatService.getChatMessages(chatId));
+    public ResponseEntity<List<ChatMessageDto>> getChatMessages(@PathVariable String chatId, WebRequest request) {
+        return ConditionalGet.respond(request, chatService.chatETag(chatId), () -> chatService.getChatMessages(chatId));
+    }
+
+    // Opt-in streaming: ?stream=true, NDJSON with Accept: application/x-ndjson, otherwise a chunked JSON array
+    @GetMapping(value = "/{chatId}/messages", params = "stream=true", produces = {MediaType.APPLICATION_JSON_VALUE, StreamingJson.NDJSON})
+    public ResponseEntity<StreamingResponseBody> streamChatMessages(@PathVariable String chatId,
+                                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return StreamingJson.respond(objectMapper, accept, () -> chatService.streamChatMessages(chatId));
     }
 
     @PostMapping("/{chatId}/messages")
@@ -42,16 +56,19 @@ public class ChatController {
     }
 
     @GetMapping(value = "/receiver/{receiverId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<ChatMessageDto>> getMessagesByReceiverId(@PathVariable String receiverId) {
-        return ResponseEntity.ok(chatService.getMessagesByReceiverId(receiverId));
+    public ResponseEntity<List<ChatMessageDto>> getMessagesByReceiverId(@PathVariable String receiverId, WebRequest request) {
+        return ConditionalGet.respond(request, chatService.receiverETag(receiverId, null),
+                () -> chatService.getMessagesByReceiverId(receiverId));
     }
 
     @GetMapping(value = "/receiver/{receiverId}/type/{receiverType}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<ChatMessageDto>> getMessagesByReceiverIdAndType(
             @PathVariable String receiverId,
-            @PathVariable UserType receiverType
+            @PathVariable UserType receiverType,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(chatService.getMessagesByReceiverIdAndType(receiverId, receiverType));
+        return ConditionalGet.respond(request, chatService.receiverETag(receiverId, receiverType),
+                () -> chatService.getMessagesByReceiverIdAndType(receiverId, receiverType));
     }
 
     @Getter @Setter
@@ -5,6 +5,8 @@ import com.example.jobup.entities.FileUpload;
 import com.example.jobup.repositories.UserRepository;
 import com.example.jobup.services.FileUploadService;
 import com.example.jobup.services.FileSecurityService;
+import com.example.jobup.util.StreamingJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,6 +24,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +40,7 @@ public class FileUploadController {
     private final FileUploadService fileUploadService;
     private final FileSecurityService fileSecurityService;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Upload a file", description = "Upload a file with specified category and owner")
@@ -117,6 +121,15 @@ public class FileUploadController {
         }
     }
     
+    @GetMapping(value = "/owner/{ownerId}", params = "stream=true", produces = {MediaType.APPLICATION_JSON_VALUE, StreamingJson.NDJSON})
+    @Operation(summary = "Stream files by owner",
+            description = "Streams the owner's files from a database cursor; NDJSON with Accept: application/x-ndjson, otherwise a chunked JSON array")
+    public ResponseEntity<StreamingResponseBody> streamFilesByOwner(
+            @Parameter(description = "Owner ID") @PathVariable String ownerId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return StreamingJson.respond(objectMapper, accept, () -> fileUploadService.streamFilesByOwner(ownerId));
+    }
+
     @GetMapping("/owner/{ownerId}/category/{category}")
     @Operation(summary = "Get files by owner and category", description = "Get files for a specific owner and category")
     public ResponseEntity<List<FileUploadResponseDto>> getFilesByOwnerAndCategory(
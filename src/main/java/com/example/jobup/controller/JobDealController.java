@@ -7,13 +7,18 @@ import com.example.jobup.entities.JobRating;
 import com.example.jobup.services.JobDealService;
 import com.example.jobup.services.RatingService;
 import com.example.jobup.services.WorkerRatingService;
+import com.example.jobup.util.StreamingJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.security.Principal;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,6 +31,7 @@ public class JobDealController {
     private final JobDealService dealService;
     private final WorkerRatingService workerRatingService;
     private final RatingService ratingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/from-proposal/{proposalId}")
     public ResponseEntity<JobDealDto> createDealFromProposal(@PathVariable String proposalId) {
@@ -50,6 +56,13 @@ public class JobDealController {
         return ResponseEntity.ok(dealService.getDealsByWorkerId(workerId));
     }
 
+    // Opt-in streaming: ?stream=true, NDJSON with Accept: application/x-ndjson, otherwise a chunked JSON array
+    @GetMapping(value = "/worker/{workerId}", params = "stream=true", produces = {MediaType.APPLICATION_JSON_VALUE, StreamingJson.NDJSON})
+    public ResponseEntity<StreamingResponseBody> streamDealsByWorkerId(@PathVariable String workerId,
+                                                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return StreamingJson.respond(objectMapper, accept, () -> dealService.streamDealsByWorkerId(workerId));
+    }
+
     @GetMapping("/worker/{workerId}/completed")
     public ResponseEntity<List<JobDealDto>> getCompletedDealsByWorkerId(@PathVariable String workerId) {
         return ResponseEntity.ok(dealService.getCompletedDealsByWorkerId(workerId));
@@ -1,11 +1,26 @@
 package com.example.jobup.controller;
 
+import com.example.jobup.dto.AttachmentUploadResultDto;
+import com.example.jobup.dto.CursorPageDto;
 import com.example.jobup.dto.FileUploadResponseDto;
 import com.example.jobup.dto.JobPostDto;
+import com.example.jobup.dto.JobPostSummaryDto;
+import com.example.jobup.dto.JobPostWithAttachmentsDto;
+import com.example.jobup.dto.PageDto;
+import com.example.jobup.dto.PostSearchPageDto;
+import com.example.jobup.dto.PostToggleResultDto;
+import com.example.jobup.services.IGeocoder;
 import com.example.jobup.services.JobPostService;
+import com.example.jobup.util.ConditionalGet;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import com.example.jobup.services.FileUploadService;
 import com.example.jobup.entities.FileUpload;
@@ -20,6 +35,10 @@ import java.util.List;
 public class JobPostController {
     private final JobPostService jobPostService;
     private final FileUploadService fileUploadService;
+    private final IGeocoder geocoder;
+
+    @Value("${posts.legacy-list.enabled:true}")
+    private boolean legacyListEnabled;
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public JobPostDto createPost(@RequestBody JobPostDto dto, java.security.Principal principal) {
@@ -33,32 +52,31 @@ public class JobPostController {
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public JobPostDto createPostMultipart(@RequestPart("post") JobPostDto dto,
-                                          @RequestPart(value = "files", required = false) List<MultipartFile> files,
-                                          java.security.Principal principal) {
-        // 1) Create the post first
-// make the server authoritative for the creator
+    public JobPostWithAttachmentsDto createPostMultipart(@RequestPart("post") JobPostDto dto,
+                                                         @RequestPart(value = "files", required = false) List<MultipartFile> files,
+                                                         java.security.Principal principal) {
+        // make the server authoritative for the creator
         dto.setCreatedById(principal.getName());
         JobPostDto created = jobPostService.createPost(dto);
 
-        // 2) If files were sent, upload them as JOB_ATTACHMENT owned by the post
+        List<AttachmentUploadResultDto> results = List.of();
         if (files != null && !files.isEmpty()) {
-            List<String> fileIds = files.stream()
-                    .map(f -> fileUploadService.uploadFile(
-                            f,
-                            FileUpload.FileCategory.JOB_ATTACHMENT,
-                            created.getId(),        // ownerId = postId
-                            principal.getName()
-                    ))
-                    .map(FileUploadResponseDto::getId)
+            // Files are processed in parallel; each reports its own outcome
+            results = fileUploadService.uploadAttachments(files, created.getId(), principal.getName());
+            List<String> fileIds = results.stream()
+                    .filter(AttachmentUploadResultDto::isSuccess)
+                    .map(r -> r.getFile().getId())
                     .toList();
+            jobPostService.linkAttachments(created.getId(), fileIds);
 
-            // 3) Persist the link in the post (if you added linkAttachments in service)
-            // jobPostService.linkAttachments(created.getId(), fileIds);
-
-            // If you didn't add linkAttachments, make sure your UI reads attachments by ownerId via the files API.
+            List<String> attachmentIds = new java.util.ArrayList<>(created.getAttachmentFileIds());
+            attachmentIds.addAll(fileIds);
+            created.setAttachmentFileIds(attachmentIds);
         }
-        return created;
+        return JobPostWithAttachmentsDto.builder()
+                .post(created)
+                .attachments(results)
+                .build();
     }
 
     @GetMapping(value = "/{postId}/attachments", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -66,18 +84,87 @@ public class JobPostController {
         return fileUploadService.getFilesByOwnerAndCategory(postId, FileUpload.FileCategory.JOB_ATTACHMENT);
     }
 
+    @GetMapping(value = "/feed", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageDto<JobPostSummaryDto>> getFeed(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size,
+                                                                    java.security.Principal principal,
+                                                                    WebRequest request) {
+        try {
+            String viewer = viewerId(principal);
+            return ConditionalGet.respond(request, jobPostService.feedETag(cursor, size, viewer),
+                    () -> jobPostService.getFeed(cursor, size, viewer));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PostSearchPageDto> search(@RequestParam String q,
+                                                    @RequestParam(required = false) String location,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.Instant from,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.Instant to,
+                                                    @RequestParam(required = false) Integer page,
+                                                    @RequestParam(required = false) Integer size,
+                                                    java.security.Principal principal) {
+        try {
+            return ResponseEntity.ok(jobPostService.search(q, location, from, to, page, size, viewerId(principal)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/nearby", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PageDto<JobPostSummaryDto>> nearby(@RequestParam(required = false) Double lat,
+                                                             @RequestParam(required = false) Double lng,
+                                                             @RequestParam(required = false) String near,
+                                                             @RequestParam(defaultValue = "${geo.nearby.default-radius-km:10}") double radiusKm,
+                                                             @RequestParam(required = false) Integer page,
+                                                             @RequestParam(required = false) Integer size,
+                                                             java.security.Principal principal) {
+        try {
+            return ResponseEntity.ok(jobPostService.findNearby(geocoder.resolve(lat, lng, near), radiusKm, page, size, viewerId(principal)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * @deprecated unbounded; clients should page through {@code GET /api/posts/feed}.
+     */
+    @Deprecated
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<JobPostDto> getAllPosts() {
-        return jobPostService.getAllPosts();
+    public ResponseEntity<List<JobPostSummaryDto>> getAllPosts(java.security.Principal principal, WebRequest request) {
+        if (!legacyListEnabled) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .header(HttpHeaders.LINK, "</api/posts/feed>; rel=\"successor-version\"")
+                    .build();
+        }
+        String viewer = viewerId(principal);
+        ResponseEntity<List<JobPostSummaryDto>> conditional = ConditionalGet.respond(request,
+                jobPostService.allPostsETag(viewer), () -> jobPostService.getAllPosts(viewer));
+        return ResponseEntity.status(conditional.getStatusCode())
+                .headers(conditional.getHeaders())
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/posts/feed>; rel=\"successor-version\"")
+                .body(conditional.getBody());
+    }
+
+    @GetMapping(value = "/{postId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<JobPostDto> getPost(@PathVariable String postId, WebRequest request) {
+        try {
+            return ConditionalGet.respond(request, jobPostService.postETag(postId), () -> jobPostService.getPost(postId));
+        } catch (java.util.NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @PostMapping("/{postId}/like")
-    public JobPostDto likePost(@PathVariable String postId, java.security.Principal principal) {
+    public PostToggleResultDto likePost(@PathVariable String postId, java.security.Principal principal) {
         return jobPostService.likePost(postId, principal.getName());
     }
 
     @PostMapping("/{postId}/save")
-    public JobPostDto savePost(@PathVariable String postId, java.security.Principal principal) {
+    public PostToggleResultDto savePost(@PathVariable String postId, java.security.Principal principal) {
         return jobPostService.savePost(postId, principal.getName());
     }
 
@@ -90,13 +177,36 @@ public class JobPostController {
         return jobPostService.addComment(postId, commentDto);
     }
 
+    @GetMapping(value = "/{postId}/comments", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageDto<JobPostDto.CommentDto>> getComments(@PathVariable String postId,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(jobPostService.getComments(postId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping(value = "/saved/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<JobPostDto> getSavedPostsByUserId(@PathVariable String userId) {
-        return jobPostService.getSavedPostsByUserId(userId);
+    public ResponseEntity<List<JobPostSummaryDto>> getSavedPostsByUserId(@PathVariable String userId,
+                                                                         java.security.Principal principal,
+                                                                         WebRequest request) {
+        String viewer = viewerId(principal);
+        return ConditionalGet.respond(request, jobPostService.savedPostsETag(userId, viewer),
+                () -> jobPostService.getSavedPostsByUserId(userId, viewer));
     }
 
     @GetMapping(value = "/created-by/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<JobPostDto> getPostsByCreatorId(@PathVariable String userId) {
-        return jobPostService.getPostsByCreatorId(userId);
+    public ResponseEntity<List<JobPostSummaryDto>> getPostsByCreatorId(@PathVariable String userId,
+                                                                       java.security.Principal principal,
+                                                                       WebRequest request) {
+        String viewer = viewerId(principal);
+        return ConditionalGet.respond(request, jobPostService.creatorPostsETag(userId, viewer),
+                () -> jobPostService.getPostsByCreatorId(userId, viewer));
+    }
+
+    private static String viewerId(java.security.Principal principal) {
+        return principal != null ? principal.getName() : null;
     }
 }
\ No newline at end of file
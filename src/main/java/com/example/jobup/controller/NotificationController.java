@@ -2,10 +2,12 @@ package com.example.jobup.controller;
 
 import com.example.jobup.dto.NotificationDto;
 import com.example.jobup.services.NotificationService;
+import com.example.jobup.util.ConditionalGet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,15 +20,15 @@ public class NotificationController {
     private final NotificationService notificationService;
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<NotificationDto>> getNotificationsByUserId(@PathVariable String userId) {
-        List<NotificationDto> notifications = notificationService.getNotificationsByUserId(userId);
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<List<NotificationDto>> getNotificationsByUserId(@PathVariable String userId, WebRequest request) {
+        return ConditionalGet.respond(request, notificationService.notificationsETag(userId, false),
+                () -> notificationService.getNotificationsByUserId(userId));
     }
     
     @GetMapping("/user/{userId}/unread")
-    public ResponseEntity<List<NotificationDto>> getUnreadNotificationsByUserId(@PathVariable String userId) {
-        List<NotificationDto> notifications = notificationService.getUnreadNotificationsByUserId(userId);
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<List<NotificationDto>> getUnreadNotificationsByUserId(@PathVariable String userId, WebRequest request) {
+        return ConditionalGet.respond(request, notificationService.notificationsETag(userId, true),
+                () -> notificationService.getUnreadNotificationsByUserId(userId));
     }
 
     @GetMapping("/user/{userId}/count")
@@ -5,11 +5,16 @@ import com.example.jobup.entities.ProposalStatus;
 import com.example.jobup.entities.UserType;
 import com.example.jobup.services.JobDealService;
 import com.example.jobup.services.ProposalService;
+import com.example.jobup.util.StreamingJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -23,6 +28,7 @@ public class ProposalController {
 
     private final ProposalService proposalService;
     private final JobDealService jobDealService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<JobProposalDto> createProposal(@RequestBody CreateProposalRequest req) {
@@ -66,6 +72,13 @@ public class ProposalController {
         return ResponseEntity.ok(proposalService.getProposalsByClientId(clientId));
     }
 
+    // Opt-in streaming: ?stream=true, NDJSON with Accept: application/x-ndjson, otherwise a chunked JSON array
+    @GetMapping(value = "/client/{clientId}", params = "stream=true", produces = {MediaType.APPLICATION_JSON_VALUE, StreamingJson.NDJSON})
+    public ResponseEntity<StreamingResponseBody> streamProposalsByClientId(@PathVariable String clientId,
+                                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return StreamingJson.respond(objectMapper, accept, () -> proposalService.streamProposalsByClientId(clientId));
+    }
+
     @Getter @Setter
     public static class CreateProposalRequest {
         private String chatId;
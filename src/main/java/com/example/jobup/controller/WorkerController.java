@@ -1,16 +1,39 @@
 package com.example.jobup.controller;
 
+import com.example.jobup.dto.CursorPageDto;
+import com.example.jobup.dto.PageDto;
+import com.example.jobup.dto.RankedWorkerDto;
+import com.example.jobup.dto.SuggestionDto;
+import com.example.jobup.dto.WorkerProfileDto;
 import com.example.jobup.dto.WorkerCreateDto;
+import com.example.jobup.dto.WorkerImportResultDto;
+import com.example.jobup.dto.WorkerQueryDto;
 import com.example.jobup.dto.WorkerResponseDto;
 import com.example.jobup.dto.WorkerUpdateDto;
+import com.example.jobup.exceptions.ServiceOverloadedException;
+import com.example.jobup.services.IGeocoder;
 import com.example.jobup.services.IWorkerService;
+import com.example.jobup.services.WorkerAutocompleteService;
+import com.example.jobup.services.WorkerImportService;
+import com.example.jobup.services.WorkerProfileService;
+import com.example.jobup.services.WorkerRankingService;
+import com.example.jobup.util.ConditionalGet;
+import com.example.jobup.util.StreamingJson;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/workers")
@@ -19,19 +42,113 @@ import java.util.List;
 public class WorkerController {
 
     private final IWorkerService workerService;
+    private final IGeocoder geocoder;
+    private final WorkerRankingService workerRankingService;
+    private final WorkerAutocompleteService workerAutocompleteService;
+    private final WorkerProfileService workerProfileService;
+    private final WorkerImportService workerImportService;
+
+    @Value("${workers.query.max-page-size:100}")
+    private int maxPageSize;
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<WorkerResponseDto>> getAllWorkers(
             @RequestParam(value = "excludeMe", defaultValue = "false") boolean excludeMe,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest request) {
+
+        String excludeUserId =
+                (excludeMe && authentication != null && authentication.isAuthenticated()
+                        && !"anonymousUser".equals(authentication.getName()))
+                        ? authentication.getName()
+                        : null;
+
+        return ConditionalGet.respond(request, workerService.workersETag("all", excludeUserId),
+                () -> workerService.getAllWorkers(excludeUserId));
+    }
+
+    @GetMapping(value = "/query", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageDto<WorkerResponseDto>> query(
+            @RequestParam(required = false) String jobType,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Long minRatingsCount,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(value = "excludeMe", defaultValue = "false") boolean excludeMe,
+            Authentication authentication,
+            WebRequest request) {
 
         String excludeUserId =
                 (excludeMe && authentication != null && authentication.isAuthenticated()
                         && !"anonymousUser".equals(authentication.getName()))
                         ? authentication.getName()
                         : null;
+        WorkerQueryDto query = WorkerQueryDto.builder()
+                .jobType(jobType)
+                .location(location)
+                .minRating(minRating)
+                .minRatingsCount(minRatingsCount)
+                .excludeUserId(excludeUserId)
+                .sort(sort)
+                .cursor(cursor)
+                .size(size)
+                .build();
+        try {
+            return ConditionalGet.respond(request,
+                    workerService.workersETag("query", jobType, location, minRating, minRatingsCount, excludeUserId, sort, cursor, size),
+                    () -> workerService.query(query));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/autocomplete", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<SuggestionDto>> autocomplete(@RequestParam String field,
+                                                            @RequestParam(defaultValue = "") String prefix,
+                                                            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(workerAutocompleteService.suggest(field, prefix, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
-        return ResponseEntity.ok(workerService.getAllWorkers(excludeUserId));
+    @GetMapping(value = "/top", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<RankedWorkerDto>> top(@RequestParam String jobType,
+                                                     @RequestParam(required = false) String location,
+                                                     @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(workerRankingService.top(jobType, location, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/nearby", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PageDto<WorkerResponseDto>> nearby(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) String near,
+            @RequestParam(defaultValue = "${geo.nearby.default-radius-km:10}") double radiusKm,
+            @RequestParam(required = false) String jobType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(value = "excludeMe", defaultValue = "false") boolean excludeMe,
+            Authentication authentication) {
+
+        String excludeUserId =
+                (excludeMe && authentication != null && authentication.isAuthenticated()
+                        && !"anonymousUser".equals(authentication.getName()))
+                        ? authentication.getName()
+                        : null;
+        try {
+            return ResponseEntity.ok(workerService.findNearby(geocoder.resolve(lat, lng, near), radiusKm, jobType,
+                    excludeUserId, page, Math.min(size, maxPageSize)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -41,11 +158,35 @@ public class WorkerController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "/{id}/profile", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WorkerProfileDto> getWorkerProfile(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(workerProfileService.getProfile(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<WorkerResponseDto> createWorker(@RequestBody WorkerCreateDto dto) {
         return ResponseEntity.ok(workerService.createWorker(dto));
     }
 
+    @PostMapping(value = "/import", consumes = {StreamingJson.NDJSON, "text/csv"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WorkerImportResultDto> importWorkers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                               HttpServletRequest request) {
+        WorkerImportService.Format format = contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")
+                ? WorkerImportService.Format.CSV
+                : WorkerImportService.Format.NDJSON;
+        try {
+            return ResponseEntity.ok(workerImportService.importWorkers(request.getInputStream(), format));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<WorkerResponseDto> updateWorker(@PathVariable String id,
                                                           @RequestBody WorkerUpdateDto dto) {
@@ -62,7 +203,8 @@ public class WorkerController {
     public ResponseEntity<List<WorkerResponseDto>> searchByLocation(
             @RequestParam String location,
             @RequestParam(value = "excludeMe", defaultValue = "false") boolean excludeMe,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest request) {
 
         String excludeUserId =
                 (excludeMe && authentication != null && authentication.isAuthenticated()
@@ -70,14 +212,16 @@ public class WorkerController {
                         ? authentication.getName()
                         : null;
 
-        return ResponseEntity.ok(workerService.searchByLocation(location, excludeUserId));
+        return ConditionalGet.respond(request, workerService.workersETag("location", location, excludeUserId),
+                () -> workerService.searchByLocation(location, excludeUserId));
     }
 
     @GetMapping(value = "/search/job", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<WorkerResponseDto>> searchByJobType(
             @RequestParam String jobType,
             @RequestParam(value = "excludeMe", defaultValue = "false") boolean excludeMe,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest request) {
 
         String excludeUserId =
                 (excludeMe && authentication != null && authentication.isAuthenticated()
@@ -85,6 +229,7 @@ public class WorkerController {
                         ? authentication.getName()
                         : null;
 
-        return ResponseEntity.ok(workerService.searchByJobType(jobType, excludeUserId));
+        return ConditionalGet.respond(request, workerService.workersETag("job", jobType, excludeUserId),
+                () -> workerService.searchByJobType(jobType, excludeUserId));
     }
 }
@@ -0,0 +1,20 @@
+package com.example.jobup.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one file in a multi-file upload")
+public class AttachmentUploadResultDto {
+    private String fileName;
+    private boolean success;
+
+    @Schema(description = "Stored file; null when the upload failed")
+    private FileUploadResponseDto file;
+
+    @Schema(description = "Why the file was rejected; null on success")
+    private String error;
+}
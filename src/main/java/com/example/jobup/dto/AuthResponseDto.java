@@ -12,6 +12,12 @@ public class AuthResponseDto {
     @Schema(example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
     private String token;
     
+    @Schema(description = "Opaque, single-use token for POST /auth/refresh")
+    private String refreshToken;
+
+    @Schema(description = "Access token lifetime in seconds", example = "900")
+    private Long expiresIn;
+
     @Schema(example = "[\"ROLE_CLIENT\"]")
     private List<String> roles;
 
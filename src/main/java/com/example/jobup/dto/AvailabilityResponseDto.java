@@ -0,0 +1,15 @@
+package com.example.jobup.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Schema(description = "Username/email availability for the signup form (null when not asked)")
+public class AvailabilityResponseDto {
+
+    @Schema(example = "true")
+    private Boolean usernameAvailable;
+
+    @Schema(example = "false")
+    private Boolean emailAvailable;
+}
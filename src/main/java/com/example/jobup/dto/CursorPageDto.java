@@ -0,0 +1,20 @@
+package com.example.jobup.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of a keyset-paginated list")
+public class CursorPageDto<T> {
+    private List<T> items;
+
+    @Schema(description = "Opaque cursor for the next page; null when there are no more results")
+    private String nextCursor;
+
+    private boolean hasMore;
+}
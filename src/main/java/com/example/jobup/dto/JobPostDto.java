@@ -20,6 +20,8 @@ public class JobPostDto {
     private String createdByName;
     private List<String> likes;
     private List<String> savedBy;
+    private long commentCount;
+    // Newest few comments, oldest first; page through the rest via GET /api/posts/{id}/comments
     private List<CommentDto> comments;
     private List<String> attachmentFileIds;
 
@@ -0,0 +1,38 @@
+package com.example.jobup.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * List view of a post: engagement as counts plus the caller's own flags, so payload size
+ * does not grow with likes, saves or comments. Full detail is served by {@code GET /api/posts/{id}}.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobPostSummaryDto {
+    private String id;
+    private String title;
+    private String description;
+    private String location;
+    private Instant createdAt;
+    private String createdById;
+    private String createdByName;
+    private List<String> attachmentFileIds;
+    private long likeCount;
+    private long commentCount;
+    private boolean likedByMe;
+    private boolean savedByMe;
+
+    // Text relevance; only set on search results
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double score;
+
+    // Distance from the query point; only set on nearby results
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
+}
@@ -0,0 +1,18 @@
+package com.example.jobup.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Multipart post creation result: the post is created even if some attachments fail,
+ * and each file reports its own outcome in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobPostWithAttachmentsDto {
+    private JobPostDto post;
+    private List<AttachmentUploadResultDto> attachments;
+}
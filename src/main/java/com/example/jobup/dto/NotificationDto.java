@@ -5,6 +5,7 @@ import com.example.jobup.entities.NotificationType;
 import lombok.*;
 
 import java.time.Instant;
+import java.util.List;
 
 @Data
 @Builder
@@ -27,5 +28,9 @@ public class NotificationDto {
     private String actionUrl;
     private boolean read;
 
+    // How many distinct people this notification stands for, and the most recent of them
+    private int actorCount;
+    private List<String> recentActorNames;
+
     private Instant createdAt;
 }
@@ -0,0 +1,19 @@
+package com.example.jobup.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One numbered page of results whose order has no stable keyset (e.g. by distance).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDto<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
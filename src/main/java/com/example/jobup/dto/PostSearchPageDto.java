@@ -0,0 +1,20 @@
+package com.example.jobup.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of post search results, best match first. Relevance order has no stable keyset,
+ * so search pages by number (bounded by {@code posts.search.max-results}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchPageDto {
+    private List<JobPostSummaryDto> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
@@ -0,0 +1,16 @@
+package com.example.jobup.dto;
+
+import lombok.*;
+
+/**
+ * New state after a like/save toggle: whether the caller is now in the set, and its size.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostToggleResultDto {
+    private String postId;
+    private boolean active;
+    private long count;
+}
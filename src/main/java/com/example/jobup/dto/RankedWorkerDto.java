@@ -0,0 +1,21 @@
+package com.example.jobup.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Worker in a top-K ranking, best first")
+public class RankedWorkerDto {
+    private String id;
+    private String fullName;
+    private String jobType;
+    private String location;
+    private double rating;
+    private long ratingsCount;
+
+    @Schema(description = "Bayesian-weighted rating used for ordering")
+    private double score;
+}
@@ -0,0 +1,12 @@
+package com.example.jobup.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Schema(description = "DTO carrying a refresh token")
+public class RefreshTokenRequestDto {
+
+    @Schema(description = "Refresh token returned by login/register/refresh")
+    private String refreshToken;
+}
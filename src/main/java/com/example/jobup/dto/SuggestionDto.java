@@ -0,0 +1,13 @@
+package com.example.jobup.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+    private String value;
+    // Number of workers using this value; suggestions are ordered by it
+    private long count;
+}
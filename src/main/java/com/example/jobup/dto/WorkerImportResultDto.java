@@ -0,0 +1,35 @@
+package com.example.jobup.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk worker import")
+public class WorkerImportResultDto {
+    private long received;
+    private long imported;
+    private long failed;
+
+    @Schema(description = "True when input beyond workers.import.max-rows was left unread")
+    private boolean truncated;
+    private long durationMs;
+    private double rowsPerSecond;
+
+    @Schema(description = "Per-row failures (1-based data row numbers), capped at workers.import.max-reported-errors")
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String userId;
+        private String error;
+    }
+}
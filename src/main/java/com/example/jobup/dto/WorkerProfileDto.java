@@ -0,0 +1,24 @@
+package com.example.jobup.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Worker profile composed from the worker, rating, file and deal lookups")
+public class WorkerProfileDto {
+    private WorkerResponseDto worker;
+    private WorkerRatingStatsDto ratingStats;
+    private List<FileUploadResponseDto> portfolio;
+    private List<FileUploadResponseDto> certificates;
+    private List<JobDealDto> completedDeals;
+
+    @Schema(description = "Parts that failed or timed out and are null in this response")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> missingParts;
+}
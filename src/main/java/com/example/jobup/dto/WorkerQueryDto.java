@@ -0,0 +1,23 @@
+package com.example.jobup.dto;
+
+import lombok.*;
+
+/**
+ * Filters and ordering for {@code GET /api/workers/query}; every filter is optional.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerQueryDto {
+    private String jobType;
+    private String location;
+    private Double minRating;
+    private Long minRatingsCount;
+    private String excludeUserId;
+
+    // "rating" (default) or "ratingsCount", always descending
+    private String sort;
+    private String cursor;
+    private Integer size;
+}
@@ -1,5 +1,6 @@
 package com.example.jobup.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
@@ -17,4 +18,8 @@ public class WorkerResponseDto {
     private double rating;
     private String description;
 
+    // Distance from the query point; only set on nearby results
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
+
 }
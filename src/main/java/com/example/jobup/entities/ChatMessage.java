@@ -3,11 +3,18 @@ package com.example.jobup.entities;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 
 @Document(collection = "chat_messages")
+@CompoundIndexes({
+        // History reads and their ETag watermark (messages are append-only)
+        @CompoundIndex(name = "chatId_createdAt_idx", def = "{'chatId': 1, 'createdAt': 1}"),
+        @CompoundIndex(name = "receiver_createdAt_idx", def = "{'receiverId': 1, 'createdAt': -1}")
+})
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class ChatMessage {
     @Id
@@ -2,8 +2,12 @@ package com.example.jobup.entities;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -13,7 +17,12 @@ import java.util.List;
 
 @Document(collection = "job_posts")
 @CompoundIndexes({
-        @CompoundIndex(name = "createdBy_createdAt_idx", def = "{'createdById': 1, 'createdAt': -1}")
+        @CompoundIndex(name = "createdBy_createdAt_idx", def = "{'createdById': 1, 'createdAt': -1}"),
+        // Keyset pagination of the public feed
+        @CompoundIndex(name = "createdAt_id_idx", def = "{'createdAt': -1, '_id': -1}"),
+        // ETag watermarks for post lists
+        @CompoundIndex(name = "updatedAt_idx", def = "{'updatedAt': -1}"),
+        @CompoundIndex(name = "createdBy_updatedAt_idx", def = "{'createdById': 1, 'updatedAt': -1}")
 })
 @Data
 @Builder
@@ -22,18 +31,32 @@ import java.util.List;
 public class JobPost {
     @Id
     private String id;
+    // Weighted text index for search: title matches rank above location, location above description
+    @TextIndexed(weight = 10)
     private String title;
+    @TextIndexed(weight = 2)
     private String description;
+    @TextIndexed(weight = 5)
     private String location;
+    // Geocoded from location on create; absent when the place is unknown to the gazetteer
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint coordinates;
     private Instant createdAt;
+    // Bumped by every write (toggles, comments, attachments); drives list ETags
+    private Instant updatedAt;
     private String createdById;
     private String createdByName;
     @Builder.Default
     private List<String> likes = new ArrayList<>();
     @Builder.Default
     private List<String> savedBy = new ArrayList<>();
+
+    // Comments live in post_comments; the post keeps a counter and the newest few for display
+    private long commentCount;
     @Builder.Default
-    private List<Comment> comments = new ArrayList<>();
+    private List<Comment> recentComments = new ArrayList<>();
+    // Legacy embedded comments, present until MigrationService moves them; reads add them in
+    private List<Comment> comments;
 
     // File attachments for job posts
     @Builder.Default
@@ -3,11 +3,17 @@ package com.example.jobup.entities;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Document(collection = "notifications")
+@CompoundIndex(name = "recipient_updatedAt_idx", def = "{'recipientId': 1, 'updatedAt': -1}")
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class Notification {
     @Id
@@ -29,6 +35,21 @@ public class Notification {
     @Builder.Default
     private boolean read = false;
 
+    // Coalesced notifications: recipient:refId:type:window bucket; absent on one-off notifications
+    @Indexed(unique = true, sparse = true)
+    private String coalesceKey;
+    private List<String> actorIds;          // distinct actors merged into this notification
+    @Builder.Default
+    private int actorCount = 1;
+    @Builder.Default
+    private List<String> recentActorNames = new ArrayList<>(); // newest last
+    private Instant pushedAt;
+
+    // For coalesced notifications this moves to the latest merged event, so the group sorts by activity
     @CreatedDate
     private Instant createdAt;
+
+    // Bumped by merges and read-state changes; drives the notification list ETag
+    @LastModifiedDate
+    private Instant updatedAt;
 }
@@ -0,0 +1,25 @@
+package com.example.jobup.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "post_comments")
+// Keyset pagination of a post's comments, newest first
+@CompoundIndex(name = "postId_createdAt_idx", def = "{'postId': 1, 'createdAt': -1, '_id': -1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostComment {
+    @Id
+    private String id;
+    private String postId;
+    private String authorId;
+    private String authorName;
+    private String content;
+    private Instant createdAt;
+}
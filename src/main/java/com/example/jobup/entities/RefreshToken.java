@@ -0,0 +1,36 @@
+package com.example.jobup.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "refresh_tokens")
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class RefreshToken {
+    @Id
+    private String id;
+
+    // SHA-256 of the raw token; the raw value is only ever returned to the client
+    @Indexed(unique = true)
+    private String tokenHash;
+
+    @Indexed
+    private String userId;
+
+    // All tokens produced by rotating one login share a family; reuse of a rotated token revokes the family
+    @Indexed
+    private String familyId;
+
+    private Instant revokedAt;
+
+    // Mongo TTL monitor removes the document once it expires
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+
+    @CreatedDate
+    private Instant createdAt;
+}
@@ -0,0 +1,27 @@
+package com.example.jobup.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Access token (by jti) revoked before its natural expiry, e.g. on logout.
+ */
+@Document(collection = "revoked_tokens")
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class RevokedToken {
+    @Id
+    private String id; // jti
+
+    private String userId;
+
+    @Indexed
+    private Instant revokedAt;
+
+    // Kept only as long as the access token itself would have been valid
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -25,13 +25,17 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 @AllArgsConstructor
 @Builder
 public class User implements UserDetails {
+    // Pinned names (the defaults Spring Data generated before): duplicate-key errors are told apart by them
+    public static final String USERNAME_INDEX = "username";
+    public static final String EMAIL_INDEX = "email";
+
     @Id
     private String id;
 
-    @Indexed(unique = true)
+    @Indexed(unique = true, name = USERNAME_INDEX)
     private String username;
 
-    @Indexed(unique = true)
+    @Indexed(unique = true, name = EMAIL_INDEX)
     private String email;
 
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
@@ -58,6 +62,12 @@ public class User implements UserDetails {
     // Profile picture file ID
     private String profilePictureId;
 
+    // Bumped on credential changes and role removals; tokens carrying an older "ver" claim are rejected
+    private long tokenVersion;
+
+    // Bumped when a role is added; tokens carrying an older "rver" claim still authenticate, with roles read from the DB
+    private long rolesVersion;
+
     // UserDetails implementation
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -105,6 +115,14 @@ public class User implements UserDetails {
         this.roles.add(role);
     }
 
+    public void bumpTokenVersion() {
+        this.tokenVersion++;
+    }
+
+    public void bumpRolesVersion() {
+        this.rolesVersion++;
+    }
+
     public boolean isWorker() {
         return hasRole(Role.ROLE_WORKER);
     }
@@ -2,12 +2,32 @@ package com.example.jobup.entities;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "worker")
+// Keyset pagination of GET /api/workers/query: equality filters first, then the sort key and _id.
+// Prefixes also serve the plain jobTypeKey / locationKey lookups; jobType without a location has its own
+// indexes, since the jobTypeKey+locationKey ones cannot return it already sorted by rating.
+@CompoundIndexes({
+        @CompoundIndex(name = "jobTypeKey_locationKey_rating_idx", def = "{'jobTypeKey': 1, 'locationKey': 1, 'rating': -1, '_id': -1}"),
+        @CompoundIndex(name = "jobTypeKey_locationKey_ratingsCount_idx", def = "{'jobTypeKey': 1, 'locationKey': 1, 'ratingsCount': -1, '_id': -1}"),
+        @CompoundIndex(name = "jobTypeKey_rating_idx", def = "{'jobTypeKey': 1, 'rating': -1, '_id': -1}"),
+        @CompoundIndex(name = "jobTypeKey_ratingsCount_idx", def = "{'jobTypeKey': 1, 'ratingsCount': -1, '_id': -1}"),
+        @CompoundIndex(name = "locationKey_rating_idx", def = "{'locationKey': 1, 'rating': -1, '_id': -1}"),
+        @CompoundIndex(name = "rating_idx", def = "{'rating': -1, '_id': -1}"),
+        @CompoundIndex(name = "ratingsCount_idx", def = "{'ratingsCount': -1, '_id': -1}")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Worker {
     @Id
@@ -17,6 +37,12 @@ public class Worker {
     private String jobType;
     private String phoneNumber;
     private String location;
+    // Normalized jobType / location (TextKeys.normalize), kept in sync by WorkerService
+    private String jobTypeKey;
+    private String locationKey;
+    // Geocoded from location; absent when the place is unknown to the gazetteer
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint coordinates;
     private double rating;         // average
     private long ratingsCount;     // to recompute average efficiently
     private String description;
@@ -26,4 +52,9 @@ public class Worker {
 
     @Builder.Default
     private List<String> certificateFileIds = new ArrayList<>();
+
+    // Set on every save; drives the worker list ETag
+    @LastModifiedDate
+    @Indexed
+    private Instant updatedAt;
 }
@@ -0,0 +1,20 @@
+package com.example.jobup.exceptions;
+
+/**
+ * Thrown when a username or email already belongs to another account; controllers map it to 409.
+ */
+public class DuplicateAccountException extends RuntimeException {
+
+    public enum Field { USERNAME, EMAIL }
+
+    private final Field field;
+
+    public DuplicateAccountException(Field field) {
+        super(field == Field.EMAIL ? "Email is already in use!" : "Username is already taken!");
+        this.field = field;
+    }
+
+    public Field getField() {
+        return field;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.jobup.exceptions;
+
+/**
+ * Thrown when a bounded worker pool refuses new work; controllers map it to 503.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
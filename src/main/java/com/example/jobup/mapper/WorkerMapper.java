@@ -8,15 +8,22 @@ import org.mapstruct.*;
 public interface WorkerMapper {
 
     // 🔁 Convertir entity → réponse API
+    @Mapping(target = "distanceKm", ignore = true)
     WorkerResponseDto toResponseDto(Worker worker);
 
     // 🔁 Convertir DTO de création → entity
     @Mapping(target = "fullName", ignore = true) // Ignoré car défini manuellement
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "rating", ignore = true)
+    @Mapping(target = "coordinates", ignore = true) // Géocodé par le service
+    @Mapping(target = "jobTypeKey", ignore = true)
+    @Mapping(target = "locationKey", ignore = true)
     Worker toEntity(WorkerCreateDto dto);
 
     // 🔁 Convertir DTO de mise à jour → entity
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "coordinates", ignore = true)
+    @Mapping(target = "jobTypeKey", ignore = true)
+    @Mapping(target = "locationKey", ignore = true)
     void updateWorkerFromDto(WorkerUpdateDto dto, @MappingTarget Worker entity);
 }
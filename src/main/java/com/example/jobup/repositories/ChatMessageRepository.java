@@ -6,10 +6,13 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ChatMessageRepository extends MongoRepository<ChatMessage, String> {
     List<ChatMessage> findByChatIdOrderByCreatedAtAsc(String chatId);
+    // Cursor-backed; callers must close the stream
+    Stream<ChatMessage> streamByChatIdOrderByCreatedAtAsc(String chatId);
     List<ChatMessage> findByReceiverIdOrderByCreatedAtDesc(String receiverId);
     List<ChatMessage> findByReceiverIdAndReceiverTypeOrderByCreatedAtDesc(String receiverId, UserType receiverType);
 
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FileUploadRepository extends MongoRepository<FileUpload, String> {
@@ -13,6 +14,9 @@ public interface FileUploadRepository extends MongoRepository<FileUpload, String
     List<FileUpload> findByOwnerIdAndCategoryAndIsActiveTrue(String ownerId, FileUpload.FileCategory category);
     
     List<FileUpload> findByOwnerIdAndIsActiveTrue(String ownerId);
+
+    // Cursor-backed; callers must close the stream
+    Stream<FileUpload> streamByOwnerIdAndIsActiveTrue(String ownerId);
     
     List<FileUpload> findByUploadedByAndIsActiveTrue(String uploadedBy);
     
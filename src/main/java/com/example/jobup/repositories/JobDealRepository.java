@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobDealRepository extends MongoRepository<JobDeal, String> {
@@ -16,6 +17,8 @@ public interface JobDealRepository extends MongoRepository<JobDeal, String> {
     java.util.Optional<JobDeal> findByProposalId(String proposalId);
     List<JobDeal> findByChatId(String chatId);
     List<JobDeal> findByWorkerId(String workerId);
+    // Cursor-backed; callers must close the stream
+    Stream<JobDeal> streamByWorkerId(String workerId);
     List<JobDeal> findByWorkerIdAndStatus(String workerId, DealStatus status);
     int countByWorkerIdAndStatus(String workerId, DealStatus status);
 
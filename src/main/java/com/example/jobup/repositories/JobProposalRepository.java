@@ -5,11 +5,14 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobProposalRepository extends MongoRepository<JobProposal, String> {
     List<JobProposal> findByChatIdOrderByCreatedAtDesc(String chatId);
     List<JobProposal> findByWorkerIdOrderByCreatedAtDesc(String workerId);
     List<JobProposal> findByClientIdOrderByCreatedAtDesc(String clientId);
+    // Cursor-backed; callers must close the stream
+    Stream<JobProposal> streamByClientIdOrderByCreatedAtDesc(String clientId);
 
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.jobup.repositories;
+
+import com.example.jobup.entities.PostComment;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostCommentRepository extends MongoRepository<PostComment, String> {
+}
@@ -8,9 +8,10 @@ import java.util.List;
 
 @Repository
 public interface WorkerRepo extends MongoRepository<Worker, String> {
-    List<Worker> findByLocationIgnoreCase(String location);
-    List<Worker> findByJobTypeIgnoreCase(String jobType);
+    // Exact matches on normalized keys (see TextKeys.normalize), served by the worker indexes
+    List<Worker> findByLocationKey(String locationKey);
+    List<Worker> findByJobTypeKey(String jobTypeKey);
     List<Worker> findByIdNot(String id);
-    List<Worker> findByLocationIgnoreCaseAndIdNot(String location, String id);
-    List<Worker> findByJobTypeIgnoreCaseAndIdNot(String jobType, String id);
+    List<Worker> findByLocationKeyAndIdNot(String locationKey, String id);
+    List<Worker> findByJobTypeKeyAndIdNot(String jobTypeKey, String id);
     }
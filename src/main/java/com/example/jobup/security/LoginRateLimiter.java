@@ -0,0 +1,97 @@
+package com.example.jobup.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles /auth/login per client address and per username before any DB or BCrypt work,
+ * and /auth/availability per client address so it cannot be used to enumerate accounts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginRateLimiter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.login-throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${security.login-throttle.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+
+    @Value("${security.login-throttle.username.capacity:5}")
+    private int usernameCapacity;
+
+    @Value("${security.login-throttle.username.refill-per-minute:5}")
+    private int usernameRefillPerMinute;
+
+    @Value("${security.login-throttle.availability.capacity:60}")
+    private int availabilityCapacity;
+
+    @Value("${security.login-throttle.availability.refill-per-minute:60}")
+    private int availabilityRefillPerMinute;
+
+    @Value("${security.login-throttle.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    @Value("${security.login-throttle.max-keys:100000}")
+    private int maxKeys;
+
+    private TokenBucketLimiter byIp;
+    private TokenBucketLimiter byUsername;
+    private TokenBucketLimiter availabilityByIp;
+    private Counter throttled;
+
+    @PostConstruct
+    void init() {
+        byIp = new TokenBucketLimiter(ipCapacity, ipRefillPerMinute, maxKeys);
+        byUsername = new TokenBucketLimiter(usernameCapacity, usernameRefillPerMinute, maxKeys);
+        availabilityByIp = new TokenBucketLimiter(availabilityCapacity, availabilityRefillPerMinute, maxKeys);
+        throttled = Counter.builder("auth.login.throttled").register(meterRegistry);
+    }
+
+    /** Returns 0 when the attempt may proceed, otherwise the seconds to announce in Retry-After. */
+    public long tryAcquire(String username, String clientAddress) {
+        if (!enabled) return 0;
+        // Address first: a sprayer cycling usernames is stopped without touching per-user buckets
+        long waitNanos = byIp.acquire(clientAddress == null ? "unknown" : clientAddress);
+        if (waitNanos == 0 && username != null) {
+            waitNanos = byUsername.acquire(username.trim().toLowerCase(Locale.ROOT));
+        }
+        return retryAfterSeconds(waitNanos);
+    }
+
+    /** Same contract as {@link #tryAcquire}, for username/email availability lookups. */
+    public long tryAcquireLookup(String clientAddress) {
+        if (!enabled) return 0;
+        return retryAfterSeconds(availabilityByIp.acquire(clientAddress == null ? "unknown" : clientAddress));
+    }
+
+    private long retryAfterSeconds(long waitNanos) {
+        if (waitNanos == 0) return 0;
+        throttled.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-throttle.sweep-ms:60000}")
+    public void evictIdle() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictMs);
+        int removed = byIp.evictIdle(idleNanos) + byUsername.evictIdle(idleNanos) + availabilityByIp.evictIdle(idleNanos);
+        if (removed > 0) {
+            log.debug("Evicted {} idle login buckets", removed);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.jobup.security;
+
+import com.example.jobup.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a (BCrypt) delegate on its own bounded pool so password hashing cannot
+ * starve Tomcat request threads. When the queue is full the call fails fast with
+ * {@link ServiceOverloadedException} instead of piling up.
+ *
+ * A timeout only frees capacity for hashes that have not started: those are pulled
+ * from the queue. BCrypt never checks for interrupts, so a hash that is already
+ * running keeps its thread until it finishes ({@code password.hash.abandoned} counts
+ * these). Size the timeout above queueCapacity / threads * hash latency, or queued
+ * requests will time out while the pool is still busy with abandoned work.
+ */
+@Slf4j
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+    private final Counter abandoned;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                 long timeoutMs, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreads(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hash.latency").tag("op", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.latency").tag("op", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+        this.abandoned = Counter.builder("password.hash.abandoned")
+                .description("Hashes that kept running after their caller timed out")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Cheap prefix check on the stored hash, no need to go through the pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Timer timer, Callable<T> work) {
+        AtomicBoolean timedOut = new AtomicBoolean();
+        Callable<T> task = () -> {
+            // The caller may have given up between dequeue and start: don't burn a BCrypt round for nobody
+            if (timedOut.get()) throw new CancellationException();
+            long start = System.nanoTime();
+            try {
+                return work.call();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (timedOut.get()) abandoned.increment();
+            }
+        };
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Too many concurrent authentication requests");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut.set(true);
+            // Frees the queue slot if the hash has not started; a running one is unaffected (see class doc)
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            rejected.increment();
+            throw new ServiceOverloadedException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "bcrypt-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.jobup.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token buckets held in memory. Bucket state is guarded by a fixed set of
+ * striped locks, so the map never grows a lock per key. The number of keys is bounded:
+ * when the map is full, buckets that have refilled completely are dropped (a fresh bucket
+ * is identical), and if none has, requests for new keys are throttled until one does.
+ */
+public class TokenBucketLimiter {
+
+    private static final int STRIPES = 64; // power of two
+    private static final long RECLAIM_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private volatile long lastReclaimNanos;
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+    }
+
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerMinute / 60_000_000_000d;
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /** Takes one token for the key; false when the bucket is empty. */
+    public boolean tryAcquire(String key) {
+        return acquire(key) == 0;
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 on success, otherwise the nanoseconds until a
+     * token will be available (what a Retry-After header should announce).
+     */
+    public long acquire(String key) {
+        long now = nanoClock.getAsLong();
+        if (buckets.size() >= maxKeys && !buckets.containsKey(key) && !reclaimRoom(now)) {
+            return fullRefillNanos();
+        }
+        ReentrantLock lock = locks[key.hashCode() & (STRIPES - 1)];
+        lock.lock();
+        try {
+            Bucket b = buckets.computeIfAbsent(key, k -> {
+                Bucket fresh = new Bucket();
+                fresh.tokens = capacity;
+                fresh.lastRefillNanos = now;
+                return fresh;
+            });
+            b.tokens = Math.min(capacity, b.tokens + (now - b.lastRefillNanos) * refillPerNano);
+            b.lastRefillNanos = now;
+            if (b.tokens < 1) {
+                return Math.max(1, (long) Math.ceil((1 - b.tokens) / refillPerNano));
+            }
+            b.tokens -= 1;
+            return 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A full map under a flood of new keys would otherwise be scanned on every request
+    private boolean reclaimRoom(long now) {
+        if (lastReclaimNanos != 0 && now - lastReclaimNanos < RECLAIM_INTERVAL_NANOS) return false;
+        lastReclaimNanos = now;
+        return evictIdle(fullRefillNanos()) > 0;
+    }
+
+    /** Removes buckets untouched for longer than idleNanos (they would be full again anyway). */
+    public int evictIdle(long idleNanos) {
+        long cutoff = nanoClock.getAsLong() - idleNanos;
+        int before = buckets.size();
+        buckets.entrySet().removeIf(e -> {
+            ReentrantLock lock = locks[e.getKey().hashCode() & (STRIPES - 1)];
+            lock.lock();
+            try {
+                return e.getValue().lastRefillNanos - cutoff < 0;
+            } finally {
+                lock.unlock();
+            }
+        });
+        return before - buckets.size();
+    }
+
+    /** Time for an empty bucket to refill completely; an idle bucket older than this can be dropped. */
+    public long fullRefillNanos() {
+        return (long) Math.ceil(capacity / refillPerNano);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
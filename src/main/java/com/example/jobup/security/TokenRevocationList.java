@@ -0,0 +1,87 @@
+package com.example.jobup.security;
+
+import com.example.jobup.entities.RevokedToken;
+import com.example.jobup.repositories.RevokedTokenRepository;
+import com.example.jobup.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access-token ids (jti), checked on every request without I/O.
+ * A Bloom filter answers the common "not revoked" case; the exact map confirms hits.
+ * Entries are persisted in {@code revoked_tokens} so other nodes pick them up on refresh,
+ * and are dropped once the token would have expired anyway.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationList {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries:10000}")
+    private long expectedEntries;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> expiry millis
+    private volatile BloomFilter bloom;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) return false;
+        BloomFilter filter = bloom;
+        if (filter != null && !filter.mightContain(tokenId)) return false;
+        return revoked.containsKey(tokenId);
+    }
+
+    public void revoke(String tokenId, String userId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.isBefore(Instant.now())) return;
+        revokedTokenRepository.save(RevokedToken.builder()
+                .id(tokenId)
+                .userId(userId)
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+        add(tokenId, expiresAt);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.revocation.refresh-ms:10000}")
+    public void refresh() {
+        try {
+            // Small overlap so writes racing the previous sync are not missed
+            Instant since = lastSync.minusSeconds(5);
+            Instant now = Instant.now();
+            for (RevokedToken t : revokedTokenRepository.findByRevokedAtAfter(since)) {
+                add(t.getId(), t.getExpiresAt());
+            }
+            lastSync = now;
+
+            long nowMs = now.toEpochMilli();
+            if (revoked.values().removeIf(exp -> exp < nowMs) || bloom == null) {
+                rebuildBloom();
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh token revocation list: {}", e.getMessage());
+        }
+    }
+
+    private void add(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt.toEpochMilli());
+        BloomFilter filter = bloom;
+        if (filter != null) filter.put(tokenId);
+    }
+
+    private void rebuildBloom() {
+        BloomFilter fresh = new BloomFilter(Math.max(expectedEntries, 2L * revoked.size()), 0.01);
+        revoked.keySet().forEach(fresh::put);
+        bloom = fresh;
+        // Entries added while rebuilding went into the old filter; re-add them
+        revoked.keySet().forEach(fresh::put);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.jobup.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ * Produced once per token by {@code JwtUtil.parseVerified} so callers never re-parse.
+ */
+public record VerifiedClaims(String tokenId, String userId, String preferredUsername, List<String> roles,
+                             long tokenVersion, long rolesVersion, Instant expiresAt) {
+
+    public VerifiedClaims {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
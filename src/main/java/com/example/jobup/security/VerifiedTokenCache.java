@@ -0,0 +1,194 @@
+package com.example.jobup.security;
+
+import com.example.jobup.services.JwtUtil;
+import com.example.jobup.services.TokenVersionService;
+import com.example.jobup.util.TokenHashing;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Bounded, concurrent LRU of already-verified bearer tokens.
+ * Keys are SHA-256 digests so raw tokens are never held in memory; entries live until the
+ * earlier of the token's {@code exp} and {@code jwt.cache.ttl-ms}.
+ * The map is split into independently locked segments to keep contention low.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VerifiedTokenCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final JwtUtil jwtUtil;
+    private final TokenVersionService tokenVersionService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${jwt.cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    private Segment[] segments;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public record Entry(VerifiedClaims claims, CurrentUser principal,
+                        List<GrantedAuthority> authorities, long expiresAtMillis) {}
+
+    @PostConstruct
+    void init() {
+        int perSegment = Math.max(1, maxSize / SEGMENTS);
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        FunctionCounter.builder("jwt.cache.requests", hits, AtomicLong::get).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.requests", misses, AtomicLong::get).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached verification for this token, verifying (and caching) it on a miss.
+     *
+     * Tokens issued before the user's current tokenVersion (credential change or role removal) are rejected,
+     * including ones that were cached before the bump.
+     *
+     * @throws JwtException if the token does not verify or is stale; failures are never cached
+     */
+    public Entry getOrVerify(String token) {
+        if (!enabled) {
+            return toEntry(requireCurrent(jwtUtil.parseVerified(token)), System.currentTimeMillis());
+        }
+        String key = TokenHashing.sha256(token);
+        Segment segment = segmentFor(key);
+        long now = System.currentTimeMillis();
+
+        Entry cached = segment.get(key);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            hits.incrementAndGet();
+            if (isStale(cached.claims())) {
+                segment.removeIf(e -> e == cached);
+                throw new JwtException("Token version is stale");
+            }
+            return cached;
+        }
+        misses.incrementAndGet();
+        Entry fresh = toEntry(requireCurrent(jwtUtil.parseVerified(token)), now);
+        segment.put(key, fresh);
+        return fresh;
+    }
+
+    private VerifiedClaims requireCurrent(VerifiedClaims claims) {
+        if (isStale(claims)) {
+            throw new JwtException("Token version is stale");
+        }
+        return claims;
+    }
+
+    private boolean isStale(VerifiedClaims claims) {
+        return tokenVersionService.isStale(claims.userId(), claims.tokenVersion());
+    }
+
+    /** Drops every cached token of this user, e.g. after a password change; staleness checks reject them anyway. */
+    public void evictUser(String userId) {
+        if (segments == null || userId == null) return;
+        int removed = 0;
+        for (Segment segment : segments) {
+            removed += segment.removeIf(e -> userId.equals(e.claims().userId()));
+        }
+        log.debug("Evicted {} cached tokens for user {}", removed, userId);
+    }
+
+    public long size() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.size();
+        }
+        return total;
+    }
+
+    private Entry toEntry(VerifiedClaims claims, long now) {
+        List<GrantedAuthority> authorities = claims.roles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        long exp = claims.expiresAt() != null ? claims.expiresAt().toEpochMilli() : Long.MAX_VALUE;
+        return new Entry(claims, new CurrentUser(claims.userId(), claims.preferredUsername()),
+                authorities, Math.min(exp, now + ttlMs));
+    }
+
+    private Segment segmentFor(String key) {
+        return segments[(key.hashCode() & 0x7fffffff) % SEGMENTS];
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> map;
+
+        Segment(int capacity) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        Entry get(String key) {
+            lock.lock();
+            try {
+                return map.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(String key, Entry entry) {
+            lock.lock();
+            try {
+                map.put(key, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int removeIf(Predicate<Entry> predicate) {
+            lock.lock();
+            try {
+                int before = map.size();
+                map.values().removeIf(predicate);
+                return before - map.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -6,9 +6,14 @@ import com.example.jobup.dto.RegisterRequestDto;
 import com.example.jobup.dto.UserUpdateRequestDto;
 import com.example.jobup.entities.Role;
 import com.example.jobup.entities.User;
+import com.example.jobup.exceptions.DuplicateAccountException;
 import com.example.jobup.repositories.UserRepository;
+import com.example.jobup.security.TokenRevocationList;
+import com.example.jobup.security.VerifiedTokenCache;
+import com.mongodb.MongoWriteException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -16,10 +21,9 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,22 +31,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AuthService {
 
+    private static final Pattern DUPLICATE_INDEX = Pattern.compile("index: (\\S+) dup key");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final TokenVersionService tokenVersionService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserAvailabilityService userAvailabilityService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
 
     public AuthResponseDto register(RegisterRequestDto request) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username is already taken!");
-        }
-
-        // Check if email already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email is already in use!");
-        }
-
         // Create new user with CLIENT role by default
         User user = User.builder()
                 .username(request.getUsername())
@@ -51,28 +52,36 @@ public class AuthService {
                 .roles(Set.of(Role.ROLE_CLIENT))
                 .build();
 
-        User savedUser = userRepository.save(user);
+        // Single insert: the unique indexes on username/email reject duplicates atomically
+        User savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw duplicateOf(e, user);
+        }
+        userAvailabilityService.record(savedUser);
         log.info("New user registered: {}", savedUser.getUsername());
 
-        // Generate JWT token
-        Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("roles", savedUser.getRoles().stream()
-                .map(Enum::name)
-                .collect(Collectors.toList()));
-
-        extraClaims.put("preferred_username", user.getUsername());
-
-        String token = jwtUtil.generateToken(savedUser, extraClaims);
+        return toAuthResponse(savedUser);
+    }
 
-        return AuthResponseDto.builder()
-                .token(token)
-                .roles(savedUser.getRoles().stream()
-                        .map(Enum::name)
-                        .collect(Collectors.toList()))
-                .userId(savedUser.getId())
-                .username(savedUser.getUsername())
-                .email(savedUser.getEmail())
-                .build();
+    // The server's write error names the violated index; those names are pinned on User
+    private DuplicateAccountException duplicateOf(DuplicateKeyException e, User attempted) {
+        String index = null;
+        if (e.getCause() instanceof MongoWriteException write && write.getError().getMessage() != null) {
+            Matcher m = DUPLICATE_INDEX.matcher(write.getError().getMessage());
+            if (m.find()) index = m.group(1);
+        }
+        if (User.EMAIL_INDEX.equals(index)) return new DuplicateAccountException(DuplicateAccountException.Field.EMAIL);
+        if (User.USERNAME_INDEX.equals(index)) return new DuplicateAccountException(DuplicateAccountException.Field.USERNAME);
+
+        // Unrecognized error shape: look up which value another account holds
+        boolean usernameTaken = userRepository.findByUsername(attempted.getUsername())
+                .filter(other -> !other.getId().equals(attempted.getId()))
+                .isPresent();
+        return new DuplicateAccountException(usernameTaken
+                ? DuplicateAccountException.Field.USERNAME
+                : DuplicateAccountException.Field.EMAIL);
     }
 
     public AuthResponseDto login(LoginRequestDto request) {
@@ -88,27 +97,11 @@ public class AuthService {
             User user = (User) authentication.getPrincipal();
             log.info("User logged in: {}", user.getUsername());
 
-            // Generate JWT token
-            Map<String, Object> extraClaims = new HashMap<>();
-            extraClaims.put("roles", user.getRoles().stream()
-                    .map(Enum::name)
-                    .collect(Collectors.toList()));
-
-            extraClaims.put("preferred_username", user.getUsername());
-
-            String token = jwtUtil.generateToken(user, extraClaims);
-
-            return AuthResponseDto.builder()
-                    .token(token)
-                    .roles(user.getRoles().stream()
-                            .map(Enum::name)
-                            .collect(Collectors.toList()))
-                    .userId(user.getId())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .build();
+            return toAuthResponse(user);
 
         } catch (AuthenticationException e) {
+            // A saturated PooledPasswordEncoder throws ServiceOverloadedException from the password
+            // check, which is not an AuthenticationException and so reaches the controller as is
             log.error("Authentication failed for user: {}", request.getUsername());
             throw new RuntimeException("Invalid username or password!");
         }
@@ -129,7 +122,10 @@ public class AuthService {
         if (request.getUsername() != null && !request.getUsername().isEmpty()) {
             if (!request.getUsername().equals(user.getUsername()) && 
                 userRepository.existsByUsername(request.getUsername())) {
-                throw new RuntimeException("Username is already taken!");
+                throw new DuplicateAccountException(DuplicateAccountException.Field.USERNAME);
+            }
+            if (!request.getUsername().equals(user.getUsername())) {
+                user.bumpTokenVersion();
             }
             user.setUsername(request.getUsername());
         }
@@ -138,37 +134,71 @@ public class AuthService {
         if (request.getEmail() != null && !request.getEmail().isEmpty()) {
             if (!request.getEmail().equals(user.getEmail()) && 
                 userRepository.existsByEmail(request.getEmail())) {
-                throw new RuntimeException("Email is already in use!");
+                throw new DuplicateAccountException(DuplicateAccountException.Field.EMAIL);
             }
             user.setEmail(request.getEmail());
         }
 
         // Update password if provided
-        if (request.getNewPassword() != null && !request.getNewPassword().isEmpty()) {
+        boolean passwordChanged = request.getNewPassword() != null && !request.getNewPassword().isEmpty();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+            user.bumpTokenVersion();
         }
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            // Lost a race with another request that claimed the same username/email
+            throw duplicateOf(e, user);
+        }
+        tokenVersionService.publish(savedUser);
+        userAvailabilityService.record(savedUser);
+        if (passwordChanged) {
+            verifiedTokenCache.evictUser(savedUser.getId());
+            // Other sessions must log in again with the new password
+            refreshTokenService.revokeAllForUser(savedUser.getId());
+        }
         log.info("User updated: {}", savedUser.getUsername());
 
-        // Generate new JWT token
-        Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("roles", savedUser.getRoles().stream()
-                .map(Enum::name)
-                .collect(Collectors.toList()));
+        return toAuthResponse(savedUser);
+    }
 
-        extraClaims.put("preferred_username", user.getUsername());
+    public AuthResponseDto refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotation.userId())
+                .filter(User::isEnabled)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return toAuthResponse(user, rotation.refreshToken());
+    }
 
-        String token = jwtUtil.generateToken(savedUser, extraClaims);
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken != null && !accessToken.isBlank()) {
+            jwtUtil.tryParseVerified(accessToken).ifPresent(claims ->
+                    tokenRevocationList.revoke(claims.tokenId(), claims.userId(), claims.expiresAt()));
+        }
+    }
+
+    private AuthResponseDto toAuthResponse(User user) {
+        return toAuthResponse(user, refreshTokenService.issue(user.getId()));
+    }
 
+    private AuthResponseDto toAuthResponse(User user, String refreshToken) {
+        // Roles, preferred_username and subject are all carried in the token
         return AuthResponseDto.builder()
-                .token(token)
-                .roles(savedUser.getRoles().stream()
+                .token(jwtUtil.generateToken(user))
+                .refreshToken(refreshToken)
+                .expiresIn(jwtUtil.getExpirationMs() / 1000)
+                .roles(user.getRoles().stream()
                         .map(Enum::name)
                         .collect(Collectors.toList()))
-                .userId(savedUser.getId())
-                .username(savedUser.getUsername())
-                .email(savedUser.getEmail())
+                .userId(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
                 .build();
     }
 }
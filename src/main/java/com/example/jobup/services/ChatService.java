@@ -6,16 +6,32 @@ import com.example.jobup.entities.MessageType;
 import com.example.jobup.entities.UserType;
 import com.example.jobup.repositories.ChatMessageRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ChatService {
 
     private final ChatMessageRepository chatMessageRepository;
+    private final WatermarkService watermarkService;
+
+    // Messages are append-only, so count + newest createdAt identifies a history
+    public String chatETag(String chatId) {
+        return watermarkService.etag("chat_messages", Criteria.where("chatId").is(chatId), "createdAt");
+    }
+
+    public String receiverETag(String receiverId, UserType receiverType) {
+        Criteria filter = Criteria.where("receiverId").is(receiverId);
+        if (receiverType != null) {
+            filter.and("receiverType").is(receiverType.name());
+        }
+        return watermarkService.etag("chat_messages", filter, "createdAt");
+    }
 
     public List<ChatMessageDto> getChatMessages(String chatId) {
         // NOTE: repo method should sort by createdAt
@@ -23,6 +39,11 @@ public class ChatService {
         return messages.stream().map(this::toDto).collect(Collectors.toList());
     }
 
+    /** Same as {@link #getChatMessages} but read through a cursor; the caller must close the stream. */
+    public Stream<ChatMessageDto> streamChatMessages(String chatId) {
+        return chatMessageRepository.streamByChatIdOrderByCreatedAtAsc(chatId).map(this::toDto);
+    }
+
     public ChatMessageDto sendMessage(
             String chatId,
             String senderId, String senderName, UserType senderType,
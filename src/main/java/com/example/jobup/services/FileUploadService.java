@@ -1,13 +1,20 @@
 package com.example.jobup.services;
 
+import com.example.jobup.dto.AttachmentUploadResultDto;
 import com.example.jobup.dto.FileUploadResponseDto;
 import com.example.jobup.entities.FileUpload;
+import com.example.jobup.entities.JobPost;
 import com.example.jobup.repositories.FileUploadRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import com.example.jobup.repositories.JobPostRepository;
@@ -22,8 +29,12 @@ import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +44,10 @@ public class FileUploadService {
     private final FileUploadRepository fileUploadRepository;
     private final FileSecurityService fileSecurityService;
     private final JobPostRepository jobPostRepository;
+    private final MongoTemplate mongoTemplate;
+    private final IPostCache postCache;
+    @Qualifier("attachmentExecutor")
+    private final ExecutorService attachmentExecutor;
 
 
     @Value("${file.upload.dir:uploads}")
@@ -46,6 +61,58 @@ public class FileUploadService {
     
     public FileUploadResponseDto uploadFile(MultipartFile file, FileUpload.FileCategory category,
                                           String ownerId, String uploadedBy) {
+        FileUpload savedFile = storeFile(file, category, ownerId, uploadedBy);
+        // --- link file to the post if it's a job attachment ---
+        if (category == FileUpload.FileCategory.JOB_ATTACHMENT && ownerId != null) {
+            // targeted update: re-saving the whole post would clobber concurrent likes/comments
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("id").is(ownerId)),
+                    new Update().addToSet("attachmentFileIds", savedFile.getId()).currentDate("updatedAt"),
+                    JobPost.class);
+            postCache.evictPost(ownerId);
+        }
+        return mapToResponseDto(savedFile);
+    }
+
+    /**
+     * Stores a post's attachments concurrently on the bounded attachment pool. Files are not
+     * linked to the post here; the caller links the successful ids in one update.
+     * Results keep request order, and one failing file does not affect the others.
+     */
+    public List<AttachmentUploadResultDto> uploadAttachments(List<MultipartFile> files, String postId, String uploadedBy) {
+        List<Future<FileUpload>> futures = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            futures.add(attachmentExecutor.submit(
+                    () -> storeFile(file, FileUpload.FileCategory.JOB_ATTACHMENT, postId, uploadedBy)));
+        }
+
+        List<AttachmentUploadResultDto> results = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            String name = files.get(i).getOriginalFilename();
+            try {
+                results.add(AttachmentUploadResultDto.builder()
+                        .fileName(name)
+                        .success(true)
+                        .file(mapToResponseDto(futures.get(i).get()))
+                        .build());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while uploading attachments");
+            } catch (ExecutionException e) {
+                log.warn("Attachment {} rejected: {}", name, e.getCause().getMessage());
+                results.add(AttachmentUploadResultDto.builder()
+                        .fileName(name)
+                        .success(false)
+                        .error(e.getCause().getMessage())
+                        .build());
+            }
+        }
+        return results;
+    }
+
+    /** Validates, writes and records one file; the physical file is removed if the insert fails. */
+    private FileUpload storeFile(MultipartFile file, FileUpload.FileCategory category,
+                                 String ownerId, String uploadedBy) {
         try {
             // Enhanced security validation
             fileSecurityService.validateFileSecurity(file, category);
@@ -99,20 +166,8 @@ public class FileUploadService {
 
             try {
                 FileUpload savedFile = fileUploadRepository.save(fileUpload);
-                // --- link file to the post if it's a job attachment ---
-                if (category == FileUpload.FileCategory.JOB_ATTACHMENT && ownerId != null) {
-                    jobPostRepository.findById(ownerId).ifPresent(post -> {
-                        if (post.getAttachmentFileIds() == null) {
-                            post.setAttachmentFileIds(new java.util.ArrayList<>());
-                        }
-                        if (!post.getAttachmentFileIds().contains(savedFile.getId())) {
-                            post.getAttachmentFileIds().add(savedFile.getId());
-                            jobPostRepository.save(post);
-                        }
-                    });
-                }
                 log.info("File uploaded successfully: {} by user: {}", originalFileName, uploadedBy);
-                return mapToResponseDto(savedFile);
+                return savedFile;
             } catch (Exception dbEx) {
                 // rollback the physical file if DB save fails
                 try { Files.deleteIfExists(filePath); } catch (IOException ignore) {}
@@ -162,6 +217,11 @@ public class FileUploadService {
                 .collect(Collectors.toList());
     }
     
+    /** Cursor-backed variant of {@link #getFilesByOwner}; the caller must close the stream. */
+    public Stream<FileUploadResponseDto> streamFilesByOwner(String ownerId) {
+        return fileUploadRepository.streamByOwnerIdAndIsActiveTrue(ownerId).map(this::mapToResponseDto);
+    }
+
     public Optional<FileUploadResponseDto> getFileById(String fileId) {
         return fileUploadRepository.findByIdAndIsActiveTrue(fileId)
                 .map(this::mapToResponseDto);
@@ -229,11 +289,11 @@ public class FileUploadService {
             log.info("File deleted: {} by user: {}", file.getOriginalFileName(), userId);
             // --- unlink from post if it was a job attachment ---
             if (file.getCategory() == FileUpload.FileCategory.JOB_ATTACHMENT && file.getOwnerId() != null) {
-                jobPostRepository.findById(file.getOwnerId()).ifPresent(post -> {
-                    if (post.getAttachmentFileIds() != null && post.getAttachmentFileIds().remove(fileId)) {
-                        jobPostRepository.save(post);
-                    }
-                });
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("id").is(file.getOwnerId())),
+                        new Update().pull("attachmentFileIds", fileId).currentDate("updatedAt"),
+                        JobPost.class);
+                postCache.evictPost(file.getOwnerId());
             }
             return true;
             
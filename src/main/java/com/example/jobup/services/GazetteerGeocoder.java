@@ -0,0 +1,72 @@
+package com.example.jobup.services;
+
+import com.example.jobup.util.TextKeys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline {@link IGeocoder} backed by a CSV gazetteer ({@code name,lat,lon,alias|alias}),
+ * loaded once into memory. Names and aliases match on their normalized form; no network calls.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GazetteerGeocoder implements IGeocoder {
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${geo.gazetteer.path:classpath:gazetteer/tn-cities.csv}")
+    private String gazetteerPath;
+
+    private volatile Map<String, GeoJsonPoint> places = Map.of();
+
+    @PostConstruct
+    void load() {
+        Resource resource = resourceLoader.getResource(gazetteerPath);
+        if (!resource.exists()) {
+            log.warn("Gazetteer {} not found; locations will not be geocoded", gazetteerPath);
+            return;
+        }
+        Map<String, GeoJsonPoint> loaded = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] cols = line.split(",", -1);
+                if (cols.length < 3) continue;
+                // GeoJSON order is (longitude, latitude)
+                GeoJsonPoint point = new GeoJsonPoint(Double.parseDouble(cols[2].trim()), Double.parseDouble(cols[1].trim()));
+                loaded.put(TextKeys.normalize(cols[0]), point);
+                if (cols.length > 3 && !cols[3].isBlank()) {
+                    for (String alias : cols[3].split("\\|")) {
+                        loaded.putIfAbsent(TextKeys.normalize(alias), point);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to load gazetteer {}: {}", gazetteerPath, e.getMessage());
+            return;
+        }
+        places = Map.copyOf(loaded);
+        log.info("Gazetteer loaded with {} place names", places.size());
+    }
+
+    @Override
+    public Optional<GeoJsonPoint> geocode(String location) {
+        String key = TextKeys.normalize(location);
+        return key == null ? Optional.empty() : Optional.ofNullable(places.get(key));
+    }
+}
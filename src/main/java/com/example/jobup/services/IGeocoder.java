@@ -0,0 +1,25 @@
+package com.example.jobup.services;
+
+import com.example.jobup.util.GeoNear;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.Optional;
+
+/**
+ * Resolves a free-text location to coordinates. Implementations must be cheap enough to call
+ * on every write; an empty result just leaves the document without coordinates.
+ */
+public interface IGeocoder {
+    Optional<GeoJsonPoint> geocode(String location);
+
+    /** Query point from explicit lat/lng, else from a place name; IllegalArgumentException if neither resolves. */
+    default GeoJsonPoint resolve(Double lat, Double lng, String place) {
+        if (lat != null && lng != null) {
+            return GeoNear.point(lat, lng);
+        }
+        if (place != null && !place.isBlank()) {
+            return geocode(place).orElseThrow(() -> new IllegalArgumentException("Unknown place: " + place));
+        }
+        throw new IllegalArgumentException("lat/lng or near is required");
+    }
+}
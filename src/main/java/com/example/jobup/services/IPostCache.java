@@ -0,0 +1,35 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.CursorPageDto;
+import com.example.jobup.dto.JobPostDto;
+import com.example.jobup.dto.JobPostSummaryDto;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache for viewer-independent feed pages and single-post detail.
+ * Writers call the evict methods; {@link #version()} lets a reader that raced an eviction of
+ * the posts it loaded skip storing them. Swap the bean to share the cache across nodes.
+ */
+public interface IPostCache {
+
+    /**
+     * Read before loading and pass to the put methods: they store the value only if none of the
+     * posts it contains (nor the feed head, for a first page) was evicted since.
+     */
+    long version();
+
+    Optional<CursorPageDto<JobPostSummaryDto>> getFeedPage(String cursor, int size);
+
+    void putFeedPage(String cursor, int size, CursorPageDto<JobPostSummaryDto> page, long version);
+
+    Optional<JobPostDto> getPost(String postId);
+
+    void putPost(JobPostDto post, long version);
+
+    /** The post changed: drop its detail and every cached page that lists it. */
+    void evictPost(String postId);
+
+    /** A post was created: drop the first pages (pages after a cursor only hold older posts). */
+    void evictFeedHead();
+}
@@ -1,9 +1,13 @@
 package com.example.jobup.services;
 
+import com.example.jobup.dto.CursorPageDto;
+import com.example.jobup.dto.PageDto;
 import com.example.jobup.dto.WorkerCreateDto;
+import com.example.jobup.dto.WorkerQueryDto;
 import com.example.jobup.dto.WorkerResponseDto;
 import com.example.jobup.dto.WorkerUpdateDto;
 import com.example.jobup.entities.Worker;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,5 +24,8 @@ public interface IWorkerService {
     public List<WorkerResponseDto> searchByLocationExcept(String location, String userId) ;
     public List<WorkerResponseDto> searchByJobTypeExcept(String jobType, String userId) ;
     public List<WorkerResponseDto> getAllWorkers(String excludeUserId) ;
+    String workersETag(Object... requestKey);
+    CursorPageDto<WorkerResponseDto> query(WorkerQueryDto query);
+    PageDto<WorkerResponseDto> findNearby(GeoJsonPoint point, double radiusKm, String jobType, String excludeUserId, int page, int size);
     public List<WorkerResponseDto> searchByLocation(String location, String excludeUserId) ;    public List<WorkerResponseDto> searchByJobType(String jobType, String excludeUserId) ;
     }
@@ -0,0 +1,229 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.CursorPageDto;
+import com.example.jobup.dto.JobPostDto;
+import com.example.jobup.dto.JobPostSummaryDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Single-node {@link IPostCache}: two size-bounded LRU maps with a short TTL as a safety net
+ * for writes that bypass this process. Hit ratios are published per cache as
+ * {@code post.cache.hit.ratio{cache=feed|post}}.
+ * <p>
+ * Each eviction stamps the evicted post (or the feed head) with the next value of a write clock.
+ * A put is dropped when anything it contains was stamped after the reader's {@link #version()},
+ * so a write to one post no longer blocks caching pages and posts it does not touch.
+ */
+@Component
+@RequiredArgsConstructor
+public class InMemoryPostCache implements IPostCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${posts.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${posts.cache.max-feed-pages:256}")
+    private int maxFeedPages;
+
+    @Value("${posts.cache.max-posts:1000}")
+    private int maxPosts;
+
+    @Value("${posts.cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${posts.cache.max-tracked-posts:10000}")
+    private int maxTrackedPosts;
+
+    private final AtomicLong clock = new AtomicLong();
+    private volatile long headVersion;
+    // Last eviction stamp per post, bounded; a post dropped from here is assumed written at floorVersion
+    private Map<String, Long> postVersions;
+    private long floorVersion;
+    private Lru<PageEntry> pages;
+    private Lru<PostEntry> posts;
+
+    private record PageEntry(CursorPageDto<JobPostSummaryDto> page, boolean head, Set<String> postIds, long expiresAtMillis) {}
+
+    private record PostEntry(JobPostDto post, long expiresAtMillis) {}
+
+    @PostConstruct
+    void init() {
+        pages = new Lru<>(maxFeedPages, "feed", PageEntry::expiresAtMillis);
+        posts = new Lru<>(maxPosts, "post", PostEntry::expiresAtMillis);
+        postVersions = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() <= maxTrackedPosts) return false;
+                floorVersion = Math.max(floorVersion, eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public long version() {
+        return clock.get();
+    }
+
+    @Override
+    public Optional<CursorPageDto<JobPostSummaryDto>> getFeedPage(String cursor, int size) {
+        if (!enabled) return Optional.empty();
+        PageEntry entry = pages.get(pageKey(cursor, size));
+        return Optional.ofNullable(entry).map(PageEntry::page);
+    }
+
+    @Override
+    public void putFeedPage(String cursor, int size, CursorPageDto<JobPostSummaryDto> page, long version) {
+        if (!enabled) return;
+        Set<String> ids = page.getItems().stream().map(JobPostSummaryDto::getId).collect(Collectors.toSet());
+        boolean head = cursor == null || cursor.isBlank();
+        PageEntry entry = new PageEntry(page, head, ids, System.currentTimeMillis() + ttlMs);
+        pages.putIfUnchanged(pageKey(cursor, size), entry,
+                () -> !(head && headVersion > version) && ids.stream().noneMatch(id -> changedSince(id, version)));
+    }
+
+    @Override
+    public Optional<JobPostDto> getPost(String postId) {
+        if (!enabled) return Optional.empty();
+        return Optional.ofNullable(posts.get(postId)).map(PostEntry::post);
+    }
+
+    @Override
+    public void putPost(JobPostDto post, long version) {
+        if (!enabled) return;
+        posts.putIfUnchanged(post.getId(), new PostEntry(post, System.currentTimeMillis() + ttlMs),
+                () -> !changedSince(post.getId(), version));
+    }
+
+    @Override
+    public void evictPost(String postId) {
+        if (postId == null) return;
+        synchronized (postVersions) {
+            postVersions.remove(postId);
+            postVersions.put(postId, clock.incrementAndGet());
+        }
+        posts.remove(postId);
+        pages.removeIf(e -> e.postIds().contains(postId));
+    }
+
+    @Override
+    public void evictFeedHead() {
+        headVersion = clock.incrementAndGet();
+        pages.removeIf(PageEntry::head);
+    }
+
+    private boolean changedSince(String postId, long version) {
+        synchronized (postVersions) {
+            return postVersions.getOrDefault(postId, floorVersion) > version;
+        }
+    }
+
+    private static String pageKey(String cursor, int size) {
+        return (cursor == null || cursor.isBlank() ? "" : cursor) + "|" + size;
+    }
+
+    private final class Lru<V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, V> map;
+        private final ToLongFunction<V> expiresAt;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        Lru(int capacity, String name, ToLongFunction<V> expiresAt) {
+            this.expiresAt = expiresAt;
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                    return size() > capacity;
+                }
+            };
+            FunctionCounter.builder("post.cache.requests", hits, AtomicLong::get)
+                    .tags("cache", name, "result", "hit").register(meterRegistry);
+            FunctionCounter.builder("post.cache.requests", misses, AtomicLong::get)
+                    .tags("cache", name, "result", "miss").register(meterRegistry);
+            Gauge.builder("post.cache.hit.ratio", this, Lru::hitRatio).tag("cache", name).register(meterRegistry);
+            Gauge.builder("post.cache.size", this, Lru::size).tag("cache", name).register(meterRegistry);
+        }
+
+        V get(String key) {
+            V value;
+            lock.lock();
+            try {
+                value = map.get(key);
+                if (value != null && expiresAt.applyAsLong(value) <= System.currentTimeMillis()) {
+                    map.remove(key);
+                    value = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+            (value != null ? hits : misses).incrementAndGet();
+            return value;
+        }
+
+        // The version check and the insert happen under the same lock evictions take, and an
+        // eviction stamps its version before taking it, so a value loaded before a write can
+        // never land after that write's eviction.
+        void putIfUnchanged(String key, V value, BooleanSupplier unchanged) {
+            lock.lock();
+            try {
+                if (unchanged.getAsBoolean()) {
+                    map.put(key, value);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String key) {
+            lock.lock();
+            try {
+                map.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void removeIf(Predicate<V> predicate) {
+            lock.lock();
+            try {
+                map.values().removeIf(predicate);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        double hitRatio() {
+            long h = hits.get();
+            long total = h + misses.get();
+            return total == 0 ? 0 : (double) h / total;
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
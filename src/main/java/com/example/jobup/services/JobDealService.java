@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -89,6 +90,11 @@ public class JobDealService {
         return dealRepository.findByWorkerId(workerId).stream().map(this::toDto).collect(Collectors.toList());
     }
 
+    /** Cursor-backed variant of {@link #getDealsByWorkerId}; the caller must close the stream. */
+    public Stream<JobDealDto> streamDealsByWorkerId(String workerId) {
+        return dealRepository.streamByWorkerId(workerId).map(this::toDto);
+    }
+
     public List<JobDealDto> getCompletedDealsByWorkerId(String workerId) {
         return dealRepository.findByWorkerIdAndStatus(workerId, DealStatus.COMPLETED)
                 .stream().map(this::toDto).collect(Collectors.toList());
@@ -1,104 +1,357 @@
 package com.example.jobup.services;
 
+import com.example.jobup.dto.CursorPageDto;
 import com.example.jobup.dto.JobPostDto;
+import com.example.jobup.dto.JobPostSummaryDto;
+import com.example.jobup.dto.PageDto;
+import com.example.jobup.dto.PostSearchPageDto;
+import com.example.jobup.dto.PostToggleResultDto;
 import com.example.jobup.entities.JobPost;
 import com.example.jobup.entities.Notification;
 import com.example.jobup.entities.NotificationType;
+import com.example.jobup.entities.PostComment;
 import com.example.jobup.repositories.JobPostRepository;
+import com.example.jobup.repositories.PostCommentRepository;
 import com.example.jobup.repositories.UserRepository;
 import com.example.jobup.entities.User;
+import com.example.jobup.util.FeedCursor;
+import com.example.jobup.util.GeoNear;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.MongoExpression;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class JobPostService {
     private final JobPostRepository jobPostRepository;
+    private final PostCommentRepository postCommentRepository;
     private final NotificationService notificationService;
     private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final IPostCache postCache;
+    private final WatermarkService watermarkService;
+    private final IGeocoder geocoder;
+
+    private static final String JOB_POSTS = "job_posts";
+    private static final Sort FEED_SORT = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id"));
+
+    private static final AggregationExpression TEXT_SCORE = ctx -> new Document("$meta", "textScore");
+
+    @Value("${posts.feed.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${posts.feed.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${posts.search.max-results:1000}")
+    private int maxSearchResults;
+
+    @Value("${geo.nearby.max-radius-km:200}")
+    private double maxRadiusKm;
+
+    @Value("${geo.nearby.max-results:500}")
+    private int maxNearbyResults;
+
+    @Value("${posts.comments.preview-size:3}")
+    private int commentPreviewSize;
 
     public JobPostDto createPost(JobPostDto dto) {
+        Instant now = Instant.now();
         JobPost post = JobPost.builder()
                 .title(dto.getTitle())
                 .description(dto.getDescription())
                 .location(dto.getLocation())
-                .createdAt(Instant.now())
+                .coordinates(geocoder.geocode(dto.getLocation()).orElse(null))
+                .createdAt(now)
+                .updatedAt(now)
                 .createdById(dto.getCreatedById())
                 .createdByName(dto.getCreatedByName())
                 .attachmentFileIds(dto.getAttachmentFileIds() != null ? dto.getAttachmentFileIds() : new ArrayList<>())
                 .build();
-        return toDto(jobPostRepository.save(post));
+        JobPostDto created = toDto(jobPostRepository.save(post));
+        postCache.evictFeedHead();
+        return created;
     }
 
-    public List<JobPostDto> getAllPosts() {
-        return jobPostRepository
-                .findAll(org.springframework.data.domain.Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "createdAt"))
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    // Version tags for conditional GETs; response-shaping parameters are folded in
+    public String feedETag(String cursor, Integer size, String viewerId) {
+        return watermarkService.etag(JOB_POSTS, new Criteria(), "updatedAt", "feed", cursor, clampPageSize(size), viewerId);
+    }
+
+    public String allPostsETag(String viewerId) {
+        return watermarkService.etag(JOB_POSTS, new Criteria(), "updatedAt", "all", viewerId);
+    }
+
+    public String savedPostsETag(String userId, String viewerId) {
+        return watermarkService.etag(JOB_POSTS, Criteria.where("savedBy").is(userId), "updatedAt", viewerId);
+    }
+
+    public String creatorPostsETag(String userId, String viewerId) {
+        return watermarkService.etag(JOB_POSTS, Criteria.where("createdById").is(userId), "updatedAt", viewerId);
+    }
+
+    public String postETag(String postId) {
+        return watermarkService.etag(JOB_POSTS, Criteria.where("_id").is(toIdValue(postId)), "updatedAt", "post");
+    }
+
+    /** Appends already-stored attachment ids to the post in a single $push $each. */
+    public void linkAttachments(String postId, List<String> fileIds) {
+        if (fileIds.isEmpty()) return;
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(toIdValue(postId))),
+                new Update().push("attachmentFileIds").each(fileIds.toArray()).currentDate("updatedAt"),
+                JOB_POSTS);
+        postCache.evictPost(postId);
+    }
+
+    /**
+     * Newest-first feed page using keyset pagination on (createdAt, _id), served by the
+     * createdAt_id_idx index. Cost is independent of how deep the client has scrolled.
+     * Pages are cached without viewer flags; those are applied per request with one _id lookup.
+     */
+    public CursorPageDto<JobPostSummaryDto> getFeed(String cursor, Integer size, String viewerId) {
+        int limit = clampPageSize(size);
+        long version = postCache.version();
+        CursorPageDto<JobPostSummaryDto> page = postCache.getFeedPage(cursor, limit).orElse(null);
+        if (page == null) {
+            page = loadFeedPage(cursor, limit);
+            postCache.putFeedPage(cursor, limit, page, version);
+        }
+        return withViewerFlags(page, viewerId);
+    }
+
+    private CursorPageDto<JobPostSummaryDto> loadFeedPage(String cursor, int limit) {
+        Criteria match = new Criteria();
+        if (cursor != null && !cursor.isBlank()) {
+            FeedCursor c = FeedCursor.decode(cursor);
+            match = afterCursor(c, toIdValue(c.id()));
+        }
+
+        List<JobPostSummaryDto> posts = findSummaries(match, FEED_SORT, limit + 1, null);
+        boolean hasMore = posts.size() > limit;
+        if (hasMore) {
+            posts = posts.subList(0, limit);
+        }
+        String next = null;
+        if (hasMore) {
+            JobPostSummaryDto last = posts.get(posts.size() - 1);
+            next = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return CursorPageDto.<JobPostSummaryDto>builder()
+                .items(List.copyOf(posts))
+                .nextCursor(next)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private CursorPageDto<JobPostSummaryDto> withViewerFlags(CursorPageDto<JobPostSummaryDto> page, String viewerId) {
+        if (viewerId == null || page.getItems().isEmpty()) {
+            return page;
+        }
+        List<Object> ids = page.getItems().stream().map(p -> toIdValue(p.getId())).collect(Collectors.toList());
+        Aggregation flags = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").in(ids)),
+                Aggregation.project()
+                        .and(ArrayOperators.In.arrayOf(orEmpty("likes")).containsValue(viewerId)).as("likedByMe")
+                        .and(ArrayOperators.In.arrayOf(orEmpty("savedBy")).containsValue(viewerId)).as("savedByMe"));
+        Map<String, Document> byId = mongoTemplate.aggregate(flags, JOB_POSTS, Document.class).getMappedResults().stream()
+                .collect(Collectors.toMap(d -> d.get("_id").toString(), d -> d));
+
+        List<JobPostSummaryDto> items = page.getItems().stream().map(p -> {
+            Document f = byId.get(p.getId());
+            return f == null ? p : p.toBuilder()
+                    .likedByMe(Boolean.TRUE.equals(f.getBoolean("likedByMe")))
+                    .savedByMe(Boolean.TRUE.equals(f.getBoolean("savedByMe")))
+                    .build();
+        }).collect(Collectors.toList());
+        return CursorPageDto.<JobPostSummaryDto>builder()
+                .items(items)
+                .nextCursor(page.getNextCursor())
+                .hasMore(page.isHasMore())
+                .build();
+    }
+
+    /** Full post including like/save id lists and the comment preview. */
+    public JobPostDto getPost(String postId) {
+        long version = postCache.version();
+        return postCache.getPost(postId).orElseGet(() -> {
+            JobPostDto post = toDto(jobPostRepository.findById(postId)
+                    .orElseThrow(() -> new NoSuchElementException("Post not found: " + postId)));
+            postCache.putPost(post, version);
+            return post;
+        });
+    }
+
+    private int clampPageSize(Integer size) {
+        if (size == null || size <= 0) return defaultPageSize;
+        return Math.min(size, maxPageSize);
+    }
+
+    // (createdAt < c) OR (createdAt == c AND _id < id) OR (createdAt is null); a descending sort puts
+    // documents without createdAt last, so past a null position only those with a smaller _id remain
+    private static Criteria afterCursor(FeedCursor c, Object id) {
+        if (c.createdAt() == null) {
+            return Criteria.where("createdAt").is(null).and("_id").lt(id);
+        }
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(c.createdAt()),
+                Criteria.where("createdAt").is(c.createdAt()).and("_id").lt(id),
+                Criteria.where("createdAt").is(null)
+        );
+    }
+
+    /**
+     * @deprecated loads the whole collection; use {@link #getFeed(String, Integer, String)}.
+     */
+    @Deprecated
+    public List<JobPostSummaryDto> getAllPosts(String viewerId) {
+        return findSummaries(new Criteria(), Sort.by(Sort.Direction.DESC, "createdAt"), 0, viewerId);
     }
 
 
-    public JobPostDto likePost(String postId, String workerId) {
-        JobPost post = jobPostRepository.findById(postId).orElseThrow();
-        boolean wasLiked = post.getLikes().contains(workerId);
-
-        if (wasLiked) {
-            post.getLikes().remove(workerId);
-        } else {
-            post.getLikes().add(workerId);
-
-            // Create notification for post owner (only if it's not the owner liking their own post)
-            if (!workerId.equals(post.getCreatedById())) {
-                try {
-                    User worker = userRepository.findById(workerId).orElse(null);
-                    String workerName = worker != null ? worker.getUsername() : "Someone";
-
-                    notificationService.createNotification(
-                        post.getCreatedById(),
-                        post.getCreatedByName(),
-                        workerId,
-                        workerName,
-                        postId,
-                        post.getTitle(),
-                        NotificationType.POST_LIKED,
-                        null
-                    );
-                } catch (Exception e) {
-                    System.err.println("Failed to create like notification: " + e.getMessage());
-                }
+    public PostToggleResultDto likePost(String postId, String workerId) {
+        Toggle toggle = toggleMembership(postId, "likes", workerId);
+        postCache.evictPost(postId);
+
+        // Create notification for post owner only when a like was actually added (and not by the owner)
+        if (toggle.active() && !workerId.equals(toggle.post().getString("createdById"))) {
+            try {
+                User worker = userRepository.findById(workerId).orElse(null);
+                String workerName = worker != null ? worker.getUsername() : "Someone";
+
+                notificationService.createNotification(
+                    toggle.post().getString("createdById"),
+                    toggle.post().getString("createdByName"),
+                    workerId,
+                    workerName,
+                    postId,
+                    toggle.post().getString("title"),
+                    NotificationType.POST_LIKED,
+                    null
+                );
+            } catch (Exception e) {
+                System.err.println("Failed to create like notification: " + e.getMessage());
             }
         }
 
-        return toDto(jobPostRepository.save(post));
+        return toToggleResult(postId, toggle);
+    }
+
+    public PostToggleResultDto savePost(String postId, String workerId) {
+        Toggle toggle = toggleMembership(postId, "savedBy", workerId);
+        postCache.evictPost(postId);
+        return toToggleResult(postId, toggle);
     }
 
-    public JobPostDto savePost(String postId, String workerId) {
-        JobPost post = jobPostRepository.findById(postId).orElseThrow();
-        if (post.getSavedBy().contains(workerId)) {
-            post.getSavedBy().remove(workerId);
-        } else {
-            post.getSavedBy().add(workerId);
+    private record Toggle(boolean active, long count, Document post) {}
+
+    /**
+     * Adds userId to the array field if absent, otherwise removes it, as single conditional
+     * updates. Only the new array size and the fields needed for notifications come back.
+     */
+    private Toggle toggleMembership(String postId, String field, String userId) {
+        Object id = toIdValue(postId);
+        FindAndModifyOptions returnNew = FindAndModifyOptions.options().returnNew(true);
+        // A concurrent toggle by the same user can make both guards miss; retry a few times
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Document added = mongoTemplate.findAndModify(
+                    toggleQuery(Criteria.where("_id").is(id).and(field).ne(userId), field),
+                    new Update().addToSet(field, userId).currentDate("updatedAt"),
+                    returnNew, Document.class, JOB_POSTS);
+            if (added != null) {
+                return new Toggle(true, added.getInteger("count", 0), added);
+            }
+            Document removed = mongoTemplate.findAndModify(
+                    toggleQuery(Criteria.where("_id").is(id).and(field).is(userId), field),
+                    new Update().pull(field, userId).currentDate("updatedAt"),
+                    returnNew, Document.class, JOB_POSTS);
+            if (removed != null) {
+                return new Toggle(false, removed.getInteger("count", 0), removed);
+            }
+            if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(id)), JOB_POSTS)) {
+                throw new NoSuchElementException("Post not found: " + postId);
+            }
         }
-        return toDto(jobPostRepository.save(post));
+        throw new IllegalStateException("Concurrent updates on post " + postId);
     }
 
+    private Query toggleQuery(Criteria criteria, String field) {
+        Query query = new Query(criteria);
+        query.fields()
+                .include("title", "createdById", "createdByName")
+                .project(MongoExpression.create("{ $size: { $ifNull: ['$" + field + "', []] } }"))
+                .as("count");
+        return query;
+    }
+
+    private PostToggleResultDto toToggleResult(String postId, Toggle toggle) {
+        return PostToggleResultDto.builder()
+                .postId(postId)
+                .active(toggle.active())
+                .count(toggle.count())
+                .build();
+    }
+
+    private static Object toIdValue(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    /**
+     * Stores the comment in post_comments, then bumps the post's counter and pushes it onto the
+     * bounded preview in one update, so the post document stays the same size however busy it gets.
+     */
     public JobPostDto addComment(String postId, JobPostDto.CommentDto commentDto) {
-        JobPost post = jobPostRepository.findById(postId).orElseThrow();
-        JobPost.Comment comment = JobPost.Comment.builder()
+        PostComment comment = postCommentRepository.insert(PostComment.builder()
                 .id(UUID.randomUUID().toString())
+                .postId(postId)
                 .authorId(commentDto.getAuthorId())
                 .authorName(commentDto.getAuthorName())
                 .content(commentDto.getContent())
                 .createdAt(Instant.now())
-                .build();
-        post.getComments().add(comment);
+                .build());
+
+        Update update = new Update().inc("commentCount", 1).currentDate("updatedAt");
+        update.push("recentComments").slice(-commentPreviewSize).each(toEmbedded(comment));
+        JobPost post = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(toIdValue(postId))),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                JobPost.class);
+        if (post == null) {
+            postCommentRepository.deleteById(comment.getId());
+            throw new NoSuchElementException("Post not found: " + postId);
+        }
+        postCache.evictPost(postId);
 
         // Create notification for post owner (only if it's not the owner commenting on their own post)
         if (!commentDto.getAuthorId().equals(post.getCreatedById())) {
@@ -121,24 +374,218 @@ public class JobPostService {
             }
         }
 
-        return toDto(jobPostRepository.save(post));
+        return toDto(post);
     }
 
-    public List<JobPostDto> getSavedPostsByUserId(String userId) {
-        return jobPostRepository
-                .findBySavedByContains(userId, org.springframework.data.domain.Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "createdAt"))
-                .stream()
-                .map(this::toDto)
+    /** A post's comments newest first, keyset-paginated on (createdAt, _id) like the feed. */
+    public CursorPageDto<JobPostDto.CommentDto> getComments(String postId, String cursor, Integer size) {
+        int limit = clampPageSize(size);
+        Query query = new Query(Criteria.where("postId").is(postId)).with(FEED_SORT).limit(limit + 1);
+        if (cursor != null && !cursor.isBlank()) {
+            FeedCursor c = FeedCursor.decode(cursor);
+            query.addCriteria(afterCursor(c, c.id()));
+        }
+
+        List<JobPostDto.CommentDto> comments = mongoTemplate.find(query, PostComment.class).stream()
+                .map(c -> JobPostDto.CommentDto.builder()
+                        .id(c.getId())
+                        .authorId(c.getAuthorId())
+                        .authorName(c.getAuthorName())
+                        .content(c.getContent())
+                        .createdAt(c.getCreatedAt())
+                        .build())
                 .collect(Collectors.toList());
+        comments = withLegacyComments(postId, comments, cursor, limit + 1);
+
+        boolean hasMore = comments.size() > limit;
+        if (hasMore) {
+            comments = comments.subList(0, limit);
+        }
+        String next = null;
+        if (hasMore) {
+            JobPostDto.CommentDto last = comments.get(comments.size() - 1);
+            next = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return CursorPageDto.<JobPostDto.CommentDto>builder()
+                .items(comments)
+                .nextCursor(next)
+                .hasMore(hasMore)
+                .build();
     }
 
+    private static final Comparator<JobPostDto.CommentDto> NEWEST_FIRST = Comparator
+            .comparing(JobPostDto.CommentDto::getCreatedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+            .thenComparing(JobPostDto.CommentDto::getId, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .reversed();
 
-    public List<JobPostDto> getPostsByCreatorId(String userId) {
-        return jobPostRepository
-                .findByCreatedByIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    // Merges in comments still embedded on an unmigrated post; no-op once MigrationService unset them
+    private List<JobPostDto.CommentDto> withLegacyComments(String postId, List<JobPostDto.CommentDto> page,
+                                                           String cursor, int limit) {
+        Query legacyQuery = new Query(Criteria.where("_id").is(toIdValue(postId)).and("comments").exists(true));
+        legacyQuery.fields().include("comments");
+        JobPost post = mongoTemplate.findOne(legacyQuery, JobPost.class);
+        if (post == null || post.getComments() == null || post.getComments().isEmpty()) {
+            return page;
+        }
+        FeedCursor after = cursor != null && !cursor.isBlank() ? FeedCursor.decode(cursor) : null;
+        JobPostDto.CommentDto position = after == null ? null
+                : JobPostDto.CommentDto.builder().createdAt(after.createdAt()).id(after.id()).build();
+
+        // Comments copied by a migration in progress may briefly be in both places
+        Set<String> seen = new HashSet<>();
+        page.forEach(c -> seen.add(c.getId()));
+        List<JobPostDto.CommentDto> merged = new ArrayList<>(page);
+        for (JobPost.Comment c : post.getComments()) {
+            JobPostDto.CommentDto dto = toCommentDto(c);
+            if (seen.add(dto.getId()) && (position == null || NEWEST_FIRST.compare(dto, position) > 0)) {
+                merged.add(dto);
+            }
+        }
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    private static JobPostDto.CommentDto toCommentDto(JobPost.Comment c) {
+        return JobPostDto.CommentDto.builder()
+                .id(c.getId())
+                .authorId(c.getAuthorId())
+                .authorName(c.getAuthorName())
+                .content(c.getContent())
+                .createdAt(c.getCreatedAt())
+                .build();
+    }
+
+    private static JobPost.Comment toEmbedded(PostComment c) {
+        return JobPost.Comment.builder()
+                .id(c.getId())
+                .authorId(c.getAuthorId())
+                .authorName(c.getAuthorName())
+                .content(c.getContent())
+                .createdAt(c.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Relevance-ranked search over title, description and location via the weighted text index.
+     * Optional filters narrow by exact location (case-insensitive) and a createdAt window; ties
+     * on score fall back to newest first.
+     *
+     * @throws IllegalArgumentException if the query is blank or the page is past the result cap
+     */
+    public PostSearchPageDto search(String q, String location, Instant from, Instant to,
+                                    Integer page, Integer size, String viewerId) {
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int limit = clampPageSize(size);
+        int pageNo = page == null ? 0 : page;
+        long skip = (long) pageNo * limit;
+        if (pageNo < 0 || skip >= maxSearchResults) {
+            throw new IllegalArgumentException("Page out of range");
+        }
+
+        Criteria filters = new Criteria();
+        if (location != null && !location.isBlank()) {
+            filters.and("location").regex("^" + Pattern.quote(location.trim()) + "$", "i");
+        }
+        if (from != null || to != null) {
+            Criteria created = filters.and("createdAt");
+            if (from != null) created.gte(from);
+            if (to != null) created.lt(to);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                // $text must be in the first stage; Mongo folds the following $match into it
+                Aggregation.match(TextCriteria.forDefaultLanguage().matching(q.trim())),
+                Aggregation.match(filters),
+                Aggregation.addFields().addField("score").withValueOf(TEXT_SCORE).build(),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "score").and(FEED_SORT)),
+                Aggregation.skip(skip),
+                Aggregation.limit(limit + 1),
+                summaryProjection(viewerId).andInclude("score"));
+
+        List<JobPostSummaryDto> items = mongoTemplate.aggregate(aggregation, JOB_POSTS, JobPostSummaryDto.class)
+                .getMappedResults();
+        boolean hasMore = items.size() > limit && skip + limit < maxSearchResults;
+        return PostSearchPageDto.builder()
+                .items(items.size() > limit ? items.subList(0, limit) : items)
+                .page(pageNo)
+                .size(limit)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Posts within {@code radiusKm} of a point, nearest first, via $geoNear on the coordinates
+     * 2dsphere index. Posts whose location could not be geocoded are not returned.
+     */
+    public PageDto<JobPostSummaryDto> findNearby(GeoJsonPoint point, double radiusKm, Integer page, Integer size, String viewerId) {
+        int limit = clampPageSize(size);
+        int pageNo = page == null ? 0 : page;
+        GeoNear.validate(radiusKm, maxRadiusKm, pageNo, limit, maxNearbyResults);
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                GeoNear.stage(point, radiusKm, new Criteria()),
+                Aggregation.skip((long) pageNo * limit),
+                Aggregation.limit(limit + 1),
+                summaryProjection(viewerId).andInclude(GeoNear.DISTANCE_FIELD));
+
+        List<JobPostSummaryDto> items = mongoTemplate.aggregate(aggregation, JOB_POSTS, JobPostSummaryDto.class)
+                .getMappedResults();
+        return PageDto.<JobPostSummaryDto>builder()
+                .items(items.size() > limit ? items.subList(0, limit) : items)
+                .page(pageNo)
+                .size(limit)
+                .hasMore(items.size() > limit && (long) (pageNo + 1) * limit < maxNearbyResults)
+                .build();
+    }
+
+    public List<JobPostSummaryDto> getSavedPostsByUserId(String userId, String viewerId) {
+        return findSummaries(Criteria.where("savedBy").is(userId), Sort.by(Sort.Direction.DESC, "createdAt"), 0, viewerId);
+    }
+
+
+    public List<JobPostSummaryDto> getPostsByCreatorId(String userId, String viewerId) {
+        return findSummaries(Criteria.where("createdById").is(userId), Sort.by(Sort.Direction.DESC, "createdAt"), 0, viewerId);
+    }
+
+    /**
+     * Runs match/sort/limit and projects engagement arrays down to counts and viewer flags
+     * ($size / $in) inside Mongo, so the id lists and comments never leave the database.
+     * A limit of 0 means unbounded.
+     */
+    private List<JobPostSummaryDto> findSummaries(Criteria match, Sort sort, int limit, String viewerId) {
+        List<AggregationOperation> ops = new ArrayList<>();
+        ops.add(Aggregation.match(match));
+        ops.add(Aggregation.sort(sort));
+        if (limit > 0) {
+            ops.add(Aggregation.limit(limit));
+        }
+        ops.add(summaryProjection(viewerId));
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(ops), JOB_POSTS, JobPostSummaryDto.class)
+                .getMappedResults();
+    }
+
+    private ProjectionOperation summaryProjection(String viewerId) {
+        ProjectionOperation projection = Aggregation.project("title", "description", "location", "createdAt",
+                        "createdById", "createdByName", "attachmentFileIds")
+                .and(ArrayOperators.Size.lengthOfArray(orEmpty("likes"))).as("likeCount")
+                // Posts not yet migrated to post_comments still carry the embedded array next to the counter
+                .and(ArithmeticOperators.Add.valueOf(ConditionalOperators.ifNull("commentCount").then(0))
+                        .add(ArrayOperators.Size.lengthOfArray(orEmpty("comments")))).as("commentCount");
+        // $in rejects a null value; without a viewer both flags simply stay false
+        if (viewerId == null) {
+            return projection;
+        }
+        return projection
+                .and(ArrayOperators.In.arrayOf(orEmpty("likes")).containsValue(viewerId)).as("likedByMe")
+                .and(ArrayOperators.In.arrayOf(orEmpty("savedBy")).containsValue(viewerId)).as("savedByMe");
+    }
+
+    // Older documents may lack the array; $size and $in both reject a missing field
+    private static AggregationExpression orEmpty(String field) {
+        return ConditionalOperators.ifNull(field).then(List.of());
     }
 
 
@@ -154,15 +601,17 @@ public class JobPostService {
                 .likes(post.getLikes())
                 .savedBy(post.getSavedBy())
                 .attachmentFileIds(post.getAttachmentFileIds())
-                .comments(post.getComments() != null ? post.getComments().stream().map(c ->
-                        JobPostDto.CommentDto.builder()
-                                .id(c.getId())
-                                .authorId(c.getAuthorId())
-                                .authorName(c.getAuthorName())
-                                .content(c.getContent())
-                                .createdAt(c.getCreatedAt())
-                                .build()
-                ).collect(Collectors.toList()) : new java.util.ArrayList<>())
+                .commentCount(post.getCommentCount() + (post.getComments() != null ? post.getComments().size() : 0))
+                .comments(commentPreview(post))
                 .build();
     }
+
+    // Newest few comments oldest-first, merging the legacy embedded array on unmigrated posts
+    private List<JobPostDto.CommentDto> commentPreview(JobPost post) {
+        List<JobPostDto.CommentDto> preview = new ArrayList<>();
+        if (post.getComments() != null) post.getComments().forEach(c -> preview.add(toCommentDto(c)));
+        if (post.getRecentComments() != null) post.getRecentComments().forEach(c -> preview.add(toCommentDto(c)));
+        preview.sort(NEWEST_FIRST.reversed());
+        return new ArrayList<>(preview.subList(Math.max(0, preview.size() - commentPreviewSize), preview.size()));
+    }
 }
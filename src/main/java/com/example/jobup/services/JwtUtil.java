@@ -1,7 +1,10 @@
 package com.example.jobup.services;
 
+import com.example.jobup.entities.User;
+import com.example.jobup.security.VerifiedClaims;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,7 +13,10 @@ import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -23,8 +29,65 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    // Built once: the HMAC key and the parser are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
+    }
+
+    /**
+     * Verifies signature and expiry once and returns everything the request pipeline needs.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedClaims parseVerified(String token) {
+        Claims claims = extractAllClaims(token);
+        Date exp = claims.getExpiration();
+        return new VerifiedClaims(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get("preferred_username", String.class),
+                extractRoles(claims),
+                extractVersion(claims, "ver"),
+                extractVersion(claims, "rver"),
+                exp != null ? exp.toInstant() : null
+        );
+    }
+
+    public Optional<VerifiedClaims> tryParseVerified(String token) {
+        try {
+            return Optional.of(parseVerified(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("JWT validation error: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private long extractVersion(Claims claims, String name) {
+        Object raw = claims.get(name);
+        return raw instanceof Number n ? n.longValue() : 0L;
+    }
+
+    private List<String> extractRoles(Claims claims) {
+        Object raw = claims.get("roles");
+        if (raw instanceof List<?> list) {
+            return list.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+
+    public long getExpirationMs() {
+        return expiration;
     }
 
     // subject is now the userId
@@ -52,11 +115,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     private Boolean isTokenExpired(String token) {
@@ -71,6 +130,15 @@ public class JwtUtil {
         return createToken(claims, userId);
     }
 
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("roles", user.getRoles().stream().map(Enum::name).toList());
+        claims.put("preferred_username", user.getUsername());
+        claims.put("ver", user.getTokenVersion());
+        claims.put("rver", user.getRolesVersion());
+        return createToken(claims, user.getId());
+    }
+
     public String generateToken(UserDetails userDetails, Map<String, Object> extraClaims) {
         // If your principal is your own User entity, grab the DB id; otherwise fall back
         String userId = (userDetails instanceof com.example.jobup.entities.User u) ? u.getId()
@@ -84,12 +152,21 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public boolean validateToken(VerifiedClaims claims, UserDetails userDetails) {
+        String preferred = claims.preferredUsername();
+        // The stored version is authoritative: covers bumps made on other nodes not yet refreshed locally
+        boolean current = !(userDetails instanceof User user) || claims.tokenVersion() >= user.getTokenVersion();
+        return preferred != null && preferred.equals(userDetails.getUsername())
+                && userDetails.isEnabled() && !claims.isExpired() && current;
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
             final String preferred = extractPreferredUsername(token);
@@ -102,10 +179,7 @@ public class JwtUtil {
 
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.error("JWT validation error: {}", e.getMessage());
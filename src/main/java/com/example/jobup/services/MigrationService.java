@@ -7,8 +7,16 @@ import com.example.jobup.repositories.ChatMessageRepository;
 import com.example.jobup.repositories.JobProposalRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -21,13 +29,20 @@ public class MigrationService implements CommandLineRunner {
 
     private final JobProposalRepository proposalRepository;
     private final ChatMessageRepository messageRepository;
+    private final MongoTemplate mongoTemplate;
+    private final IGeocoder geocoder;
+
+    @Value("${posts.comments.preview-size:3}")
+    private int commentPreviewSize;
 
     @Override
     public void run(String... args) {
         log.info("Starting database migration...");
         int p = migrateProposals();
         int m = migrateChatMessages();
-        log.info("Database migration completed. Proposals updated: {}, Messages updated: {}", p, m);
+        int c = migratePostComments();
+        int g = backfillCoordinates("job_posts") + backfillCoordinates("worker");
+        log.info("Database migration completed. Proposals updated: {}, Messages updated: {}, Posts with comments moved: {}, Documents geocoded: {}", p, m, c, g);
     }
 
     private int migrateProposals() {
@@ -109,6 +124,79 @@ public class MigrationService implements CommandLineRunner {
         return migratedCount;
     }
 
+    /**
+     * Moves embedded job_posts.comments into post_comments, streaming one post at a time so memory
+     * stays flat. Comments are upserted by their existing id, so a re-run after a crash is safe.
+     */
+    private int migratePostComments() {
+        Query withComments = new Query(Criteria.where("comments").exists(true));
+        withComments.fields().include("comments");
+        int migratedCount = 0;
+
+        try (var posts = mongoTemplate.stream(withComments, Document.class, "job_posts")) {
+            for (Document post : (Iterable<Document>) posts::iterator) {
+                List<Document> comments = post.getList("comments", Document.class, List.of());
+                if (!comments.isEmpty()) {
+                    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "post_comments");
+                    for (Document comment : comments) {
+                        Object id = comment.get("_id") != null ? comment.get("_id") : comment.get("id");
+                        bulk.upsert(new Query(Criteria.where("_id").is(id)), new Update()
+                                .setOnInsert("postId", post.get("_id").toString())
+                                .setOnInsert("authorId", comment.get("authorId"))
+                                .setOnInsert("authorName", comment.get("authorName"))
+                                .setOnInsert("content", comment.get("content"))
+                                .setOnInsert("createdAt", comment.get("createdAt")));
+                    }
+                    bulk.execute();
+                }
+
+                // Comments added since deploy already bumped commentCount and recentComments: add to
+                // the counter and merge the legacy tail into the preview instead of overwriting them.
+                // Guarded on the array so a concurrent or repeated run cannot count it twice.
+                List<Document> tail = comments.subList(Math.max(0, comments.size() - commentPreviewSize), comments.size());
+                Update update = new Update().inc("commentCount", comments.size()).unset("comments");
+                update.push("recentComments").sort(Sort.by(Sort.Direction.ASC, "createdAt")).slice(-commentPreviewSize).each(tail.toArray());
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(post.get("_id")).and("comments").exists(true)),
+                        update,
+                        "job_posts");
+                migratedCount++;
+                log.info("Migrated {} comments of post {}", comments.size(), post.get("_id"));
+            }
+        }
+        return migratedCount;
+    }
+
+    /**
+     * Geocodes documents that have a location but no coordinates yet. Updates go out in unordered
+     * bulk batches; places the gazetteer does not know are left without coordinates.
+     */
+    private int backfillCoordinates(String collection) {
+        Query missing = new Query(Criteria.where("coordinates").exists(false).and("location").ne(null));
+        missing.fields().include("location");
+        int geocoded = 0;
+
+        try (var docs = mongoTemplate.stream(missing, Document.class, collection)) {
+            BulkOperations bulk = null;
+            int pending = 0;
+            for (Document doc : (Iterable<Document>) docs::iterator) {
+                var point = geocoder.geocode(doc.getString("location"));
+                if (point.isEmpty()) continue;
+                if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                bulk.updateOne(new Query(Criteria.where("_id").is(doc.get("_id"))), new Update().set("coordinates", point.get()));
+                geocoded++;
+                if (++pending == 500) {
+                    bulk.execute();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) bulk.execute();
+        }
+        log.info("Geocoded {} documents in {}", geocoded, collection);
+        return geocoded;
+    }
+
     /**
      * Accepts "client_worker" or "client:worker".
      */
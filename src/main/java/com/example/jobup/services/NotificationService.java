@@ -5,10 +5,20 @@ import com.example.jobup.entities.Notification;
 import com.example.jobup.entities.NotificationType;
 import com.example.jobup.repositories.NotificationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,7 +27,30 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final WatermarkService watermarkService;
 
+    // Engagement events that merge into one notification per post and window
+    private static final Set<NotificationType> COALESCED =
+            EnumSet.of(NotificationType.POST_LIKED, NotificationType.POST_COMMENTED, NotificationType.POST_SAVED);
+
+    @Value("${notifications.coalesce.enabled:true}")
+    private boolean coalesceEnabled;
+
+    @Value("${notifications.coalesce.window-ms:3600000}")
+    private long coalesceWindowMs;
+
+    @Value("${notifications.coalesce.recent-actors:3}")
+    private int recentActors;
+
+    @Value("${notifications.coalesce.push-interval-ms:30000}")
+    private long pushIntervalMs;
+
+    /**
+     * Creates a notification and pushes it over WebSocket. Likes, comments and saves on the same
+     * post are merged instead (see {@link #coalesce}); in that case the result may be null when the
+     * event changed nothing, e.g. the same user liking again within the window.
+     */
     public NotificationDto createNotification(
             String recipientId, String recipientName,
             String senderId, String senderName,
@@ -26,6 +59,9 @@ public class NotificationService {
             String customMessage
     ) {
         String message = (customMessage != null) ? customMessage : defaultMessage(type, senderName, refTitle);
+        if (coalesceEnabled && customMessage == null && refId != null && COALESCED.contains(type)) {
+            return coalesce(recipientId, recipientName, senderId, senderName, refId, refTitle, type, message);
+        }
         String actionUrl = defaultActionUrl(type, refId);
 
         Notification n = Notification.builder()
@@ -49,6 +85,76 @@ public class NotificationService {
         return dto;
     }
 
+    /**
+     * Merges the event into the notification for (recipient, refId, type) in the current window.
+     * The upsert only matches while the sender is not yet among the actors, so repeat events from
+     * the same person (like/unlike/like) hit the unique coalesceKey and are dropped without a write.
+     * Pushes for a growing group are limited to one per push interval.
+     */
+    private NotificationDto coalesce(String recipientId, String recipientName,
+                                     String senderId, String senderName,
+                                     String refId, String refTitle,
+                                     NotificationType type, String message) {
+        Instant now = Instant.now();
+        String key = recipientId + ":" + refId + ":" + type + ":" + (now.toEpochMilli() / coalesceWindowMs);
+
+        Update update = new Update()
+                .setOnInsert("recipientId", recipientId)
+                .setOnInsert("recipientName", recipientName)
+                .setOnInsert("refId", refId)
+                .setOnInsert("type", type)
+                .setOnInsert("actionUrl", defaultActionUrl(type, refId))
+                .set("refTitle", refTitle)
+                .set("senderId", senderId)
+                .set("senderName", senderName)
+                .set("message", message)
+                .set("read", false)
+                .set("createdAt", now)
+                .currentDate("updatedAt")
+                .addToSet("actorIds", senderId)
+                .inc("actorCount", 1);
+        update.push("recentActorNames").slice(-recentActors).each(senderName);
+
+        Notification merged = null;
+        // Two first events can race to insert; the loser retries once against the inserted doc
+        for (int attempt = 0; attempt < 2 && merged == null; attempt++) {
+            try {
+                merged = mongoTemplate.findAndModify(
+                        new Query(Criteria.where("coalesceKey").is(key).and("actorIds").ne(senderId)),
+                        update,
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        Notification.class);
+            } catch (DuplicateKeyException e) {
+                // Group exists and already contains this sender, or we lost the insert race
+            }
+        }
+        if (merged == null) {
+            return null;
+        }
+
+        NotificationDto dto = toDto(merged);
+        if (claimPush(merged, now)) {
+            sendRealtime(recipientId, dto);
+        }
+        return dto;
+    }
+
+    private boolean claimPush(Notification n, Instant now) {
+        Instant last = n.getPushedAt();
+        if (last != null && last.isAfter(now.minusMillis(pushIntervalMs))) {
+            return false;
+        }
+        // Conditional on the value we saw, so concurrent merges push once
+        return mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(n.getId()).and("pushedAt").is(last)),
+                new Update().set("pushedAt", now),
+                Notification.class).getModifiedCount() > 0;
+    }
+
+    public String notificationsETag(String userId, boolean unreadOnly) {
+        return watermarkService.etag("notifications", Criteria.where("recipientId").is(userId), "updatedAt", unreadOnly);
+    }
+
     public List<NotificationDto> getNotificationsByUserId(String userId) {
         return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId)
                 .stream().map(this::toDto).collect(Collectors.toList());
@@ -64,16 +170,23 @@ public class NotificationService {
     }
 
     public NotificationDto markAsRead(String notificationId) {
-        Notification n = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new RuntimeException("Notification not found"));
-        n.setRead(true);
-        return toDto(notificationRepository.save(n));
+        // Targeted update: re-saving the document could drop actors merged in the meantime
+        Notification n = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(notificationId)),
+                new Update().set("read", true).currentDate("updatedAt"),
+                FindAndModifyOptions.options().returnNew(true),
+                Notification.class);
+        if (n == null) {
+            throw new RuntimeException("Notification not found");
+        }
+        return toDto(n);
     }
 
     public void markAllAsRead(String userId) {
-        List<Notification> list = notificationRepository.findByRecipientIdAndReadFalseOrderByCreatedAtDesc(userId);
-        list.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(list);
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("recipientId").is(userId).and("read").is(false)),
+                new Update().set("read", true).currentDate("updatedAt"),
+                Notification.class);
     }
 
     public void deleteNotification(String id) {
@@ -106,6 +219,12 @@ public class NotificationService {
         };
     }
 
+    private String coalescedMessage(Notification n) {
+        int others = n.getActorCount() - 1;
+        String actors = n.getSenderName() + " and " + others + (others == 1 ? " other" : " others");
+        return defaultMessage(n.getType(), actors, n.getRefTitle());
+    }
+
     private String defaultActionUrl(NotificationType type, String refId) {
         return switch (type) {
             case POST_LIKED, POST_COMMENTED, POST_SAVED -> "/client/my-posts";
@@ -125,9 +244,11 @@ public class NotificationService {
                 .refId(n.getRefId())
                 .refTitle(n.getRefTitle())
                 .type(n.getType())
-                .message(n.getMessage())
+                .message(n.getActorCount() > 1 ? coalescedMessage(n) : n.getMessage())
                 .actionUrl(n.getActionUrl())
                 .read(n.isRead())
+                .actorCount(Math.max(1, n.getActorCount()))
+                .recentActorNames(n.getRecentActorNames())
                 .createdAt(n.getCreatedAt())
                 .build();
     }
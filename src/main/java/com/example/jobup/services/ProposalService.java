@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -88,6 +89,11 @@ public class ProposalService {
                 .stream().map(this::toDto).collect(Collectors.toList());
     }
 
+    /** Cursor-backed variant of {@link #getProposalsByClientId}; the caller must close the stream. */
+    public Stream<JobProposalDto> streamProposalsByClientId(String clientId) {
+        return proposalRepository.streamByClientIdOrderByCreatedAtDesc(clientId).map(this::toDto);
+    }
+
     private JobProposalDto toDto(JobProposal p) {
         return JobProposalDto.builder()
                 .id(p.getId())
@@ -0,0 +1,101 @@
+package com.example.jobup.services;
+
+import com.example.jobup.entities.RefreshToken;
+import com.example.jobup.repositories.RefreshTokenRepository;
+import com.example.jobup.util.TokenHashing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens. Only SHA-256 digests are stored; every use of a token
+ * revokes it and issues a successor in the same family. Presenting an already-rotated token
+ * is treated as theft and revokes the whole family.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MongoTemplate mongoTemplate;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+
+    public record Rotation(String userId, String refreshToken) {}
+
+    /** Starts a new family (login, registration, password change). */
+    public String issue(String userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    public Rotation rotate(String rawToken) {
+        Instant now = Instant.now();
+        // Atomically claim the token: only one concurrent caller can flip revokedAt
+        RefreshToken claimed = mongoTemplate.findAndModify(
+                new Query(Criteria.where("tokenHash").is(TokenHashing.sha256(rawToken))
+                        .and("revokedAt").is(null)
+                        .and("expiresAt").gt(now)),
+                new Update().set("revokedAt", now),
+                FindAndModifyOptions.options().returnNew(false),
+                RefreshToken.class);
+
+        if (claimed == null) {
+            refreshTokenRepository.findByTokenHash(TokenHashing.sha256(rawToken))
+                    .filter(t -> t.getRevokedAt() != null)
+                    .ifPresent(reused -> {
+                        log.warn("Refresh token reuse detected for user {}; revoking family {}",
+                                reused.getUserId(), reused.getFamilyId());
+                        revokeFamily(reused.getFamilyId());
+                    });
+            throw new RuntimeException("Invalid refresh token");
+        }
+        return new Rotation(claimed.getUserId(), issue(claimed.getUserId(), claimed.getFamilyId()));
+    }
+
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(TokenHashing.sha256(rawToken))
+                .ifPresent(t -> revokeFamily(t.getFamilyId()));
+    }
+
+    public void revokeAllForUser(String userId) {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("userId").is(userId).and("revokedAt").is(null)),
+                new Update().set("revokedAt", Instant.now()),
+                RefreshToken.class);
+    }
+
+    private void revokeFamily(String familyId) {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("familyId").is(familyId).and("revokedAt").is(null)),
+                new Update().set("revokedAt", Instant.now()),
+                RefreshToken.class);
+    }
+
+    private String issue(String userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.insert(RefreshToken.builder()
+                .tokenHash(TokenHashing.sha256(raw))
+                .userId(userId)
+                .familyId(familyId)
+                .expiresAt(Instant.now().plusMillis(refreshExpirationMs))
+                .build());
+        return raw;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.jobup.services;
+
+import com.example.jobup.entities.User;
+import com.example.jobup.security.VerifiedClaims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of {@code users.tokenVersion} and {@code users.rolesVersion} for stateless JWT
+ * authentication. A token behind on tokenVersion is stale and rejected; one behind only on
+ * rolesVersion is still valid but its roles claim is not, so its authorities come from the DB.
+ * Only users that were ever bumped are kept; everyone else is implicitly at version 0.
+ * Local bumps are published immediately, bumps made on other nodes arrive with the next refresh.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVersionService {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final Map<String, Long> rolesVersions = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    /**
+     * @return true when the token's roles claim can be trusted: it was issued at (or after) the
+     * user's current token and roles versions. Before the first refresh nothing is considered
+     * current, so callers fall back to the DB.
+     */
+    public boolean isCurrent(VerifiedClaims claims) {
+        if (!loaded || claims.userId() == null) return false;
+        return claims.tokenVersion() >= versions.getOrDefault(claims.userId(), 0L)
+                && claims.rolesVersion() >= rolesVersions.getOrDefault(claims.userId(), 0L);
+    }
+
+    /**
+     * @return true when the token predates a tokenVersion bump this node knows of (credential change
+     * or role removal). Unlike {@link #isCurrent} this answers before the first refresh too, from local bumps.
+     */
+    public boolean isStale(String userId, long tokenVersion) {
+        if (userId == null) return false;
+        return tokenVersion < versions.getOrDefault(userId, 0L);
+    }
+
+    /** Call after the user (with its bumped version) has been saved. */
+    public void publish(User user) {
+        versions.merge(user.getId(), user.getTokenVersion(), Math::max);
+        if (user.getRolesVersion() > 0) {
+            rolesVersions.merge(user.getId(), user.getRolesVersion(), Math::max);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.token-version.refresh-ms:30000}")
+    public void refresh() {
+        try {
+            Query query = new Query(new Criteria().orOperator(
+                    Criteria.where("tokenVersion").gt(0), Criteria.where("rolesVersion").gt(0)));
+            query.fields().include("tokenVersion").include("rolesVersion");
+
+            Map<String, Long> fresh = new ConcurrentHashMap<>();
+            for (Document d : mongoTemplate.find(query, Document.class, "users")) {
+                String id = d.get("_id").toString();
+                Number v = d.get("tokenVersion", Number.class);
+                Number rv = d.get("rolesVersion", Number.class);
+                fresh.put(id, v != null ? v.longValue() : 0L);
+                if (rv != null && rv.longValue() > 0) rolesVersions.merge(id, rv.longValue(), Math::max);
+            }
+            fresh.forEach((id, v) -> versions.merge(id, v, Math::max));
+            loaded = true;
+            log.debug("Token versions refreshed: {} bumped users", fresh.size());
+        } catch (Exception e) {
+            log.error("Failed to refresh token versions: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.jobup.services;
+
+import com.example.jobup.entities.User;
+import com.example.jobup.repositories.UserRepository;
+import com.example.jobup.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers "is this username / email free?" for the signup form.
+ * A Bloom filter of taken values is rebuilt from {@code users} in the background; a negative
+ * answer is definitive, so only possible collisions reach Mongo. Renames and deletions are
+ * picked up on the next rebuild (until then they only cost an extra exists query).
+ * Values recorded while a rebuild reads {@code users} are replayed into the new filters before
+ * they are swapped in, so a user registering mid-rebuild is never reported available.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserAvailabilityService {
+
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${users.availability.expected-users:100000}")
+    private long expectedUsers;
+
+    @Value("${users.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter usernames;
+    private volatile BloomFilter emails;
+    // Non-null while a rebuild runs: users recorded since it started reading; guarded by this
+    private List<User> recordedDuringRebuild;
+
+    public boolean isUsernameAvailable(String username) {
+        BloomFilter filter = usernames;
+        if (filter != null && !filter.mightContain(username)) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        BloomFilter filter = emails;
+        if (filter != null && !filter.mightContain(email)) {
+            return true;
+        }
+        return !userRepository.existsByEmail(email);
+    }
+
+    /** Marks the user's current username and email as taken; call after every successful save. */
+    public synchronized void record(User user) {
+        put(usernames, emails, user);
+        if (recordedDuringRebuild != null) recordedDuringRebuild.add(user);
+    }
+
+    private static void put(BloomFilter u, BloomFilter e, User user) {
+        if (u != null && user.getUsername() != null) u.put(user.getUsername());
+        if (e != null && user.getEmail() != null) e.put(user.getEmail());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${users.availability.rebuild-ms:3600000}")
+    public void rebuild() {
+        synchronized (this) {
+            recordedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Query query = new Query();
+            query.fields().include("username").include("email");
+
+            List<String> names = new ArrayList<>();
+            List<String> mails = new ArrayList<>();
+            try (var stream = mongoTemplate.stream(query, Document.class, "users")) {
+                stream.forEach(d -> {
+                    String name = d.getString("username");
+                    String mail = d.getString("email");
+                    if (name != null) names.add(name);
+                    if (mail != null) mails.add(mail);
+                });
+            }
+
+            long capacity = Math.max(expectedUsers, 2L * names.size());
+            BloomFilter u = new BloomFilter(capacity, falsePositiveRate);
+            BloomFilter e = new BloomFilter(capacity, falsePositiveRate);
+            names.forEach(u::put);
+            mails.forEach(e::put);
+            synchronized (this) {
+                recordedDuringRebuild.forEach(user -> put(u, e, user));
+                usernames = u;
+                emails = e;
+            }
+            log.info("Availability filters rebuilt from {} users", names.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild availability filters: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                recordedDuringRebuild = null;
+            }
+        }
+    }
+}
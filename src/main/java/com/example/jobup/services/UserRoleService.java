@@ -12,13 +12,17 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class UserRoleService {
     private final UserRepository userRepository;
+    private final TokenVersionService tokenVersionService;
 
     public User addWorkerRole(String userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         user.addRole(Role.ROLE_WORKER);
+        // Existing tokens stay valid; their roles claim lacks ROLE_WORKER, so they are authorized from the DB
+        user.bumpRolesVersion();
         User savedUser = userRepository.save(user);
+        tokenVersionService.publish(savedUser);
         log.info("Added WORKER role to user: {}", user.getUsername());
 
         return savedUser;
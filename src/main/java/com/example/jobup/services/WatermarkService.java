@@ -0,0 +1,59 @@
+package com.example.jobup.services;
+
+import com.example.jobup.util.TokenHashing;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Cheap version tags for list endpoints, built only from documents in the list's own scope:
+ * how many match, the highest value of a field every write bumps (updatedAt, or createdAt for
+ * append-only collections) and the highest _id. A delete lowers the count, an insert raises
+ * the _id and an update moves the watermark, while writes outside the scope leave the tag alone.
+ * A scoped list costs one aggregation; the unscoped collection uses the estimated count and
+ * the watermark index. Either way a client poll that ends in 304 never loads the list.
+ * Request parameters that shape the response are folded into the tag.
+ */
+@Service
+@RequiredArgsConstructor
+public class WatermarkService {
+
+    private final MongoTemplate mongoTemplate;
+
+    public String etag(String collection, Criteria filter, String watermarkField, Object... requestKey) {
+        Document criteria = filter.getCriteriaObject();
+        Object count;
+        Object watermark;
+        Object maxId;
+        if (criteria.isEmpty()) {
+            Query top = new Query().with(Sort.by(Sort.Direction.DESC, watermarkField)).limit(1);
+            top.fields().include(watermarkField);
+            Document latest = mongoTemplate.findOne(top, Document.class, collection);
+            count = mongoTemplate.estimatedCount(collection);
+            watermark = latest != null ? latest.get(watermarkField) : null;
+            // Id of the latest-written document: an estimated count alone can miss a delete plus an insert
+            maxId = latest != null ? latest.get("_id") : null;
+        } else {
+            Aggregation scope = Aggregation.newAggregation(
+                    Aggregation.match(filter),
+                    Aggregation.group().count().as("count").max(watermarkField).as("watermark").max("_id").as("maxId"));
+            Document stats = mongoTemplate.aggregate(scope, collection, Document.class).getUniqueMappedResult();
+            count = stats != null ? stats.get("count") : 0;
+            watermark = stats != null ? stats.get("watermark") : null;
+            maxId = stats != null ? stats.get("maxId") : null;
+        }
+
+        String raw = collection + "|" + criteria.toJson() + "|" + count + "|" + watermark + "|" + maxId + "|"
+                + Arrays.stream(requestKey).map(String::valueOf).collect(Collectors.joining("|"));
+        // Weak: the tag tracks the data, not the exact bytes of the representation
+        return "W/\"" + TokenHashing.sha256(raw).substring(0, 22) + "\"";
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.SuggestionDto;
+import com.example.jobup.entities.Worker;
+import com.example.jobup.util.PrefixIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead for the worker search form: distinct jobType and location values weighted by how
+ * many workers use them. Answered from in-memory {@link PrefixIndex}es without touching Mongo;
+ * WorkerService applies creates, updates and deletes, and a periodic rebuild re-syncs with
+ * writes made by other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerAutocompleteService {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${workers.autocomplete.max-suggestions:10}")
+    private int maxSuggestions;
+
+    private final PrefixIndex jobTypes = new PrefixIndex();
+    private final PrefixIndex locations = new PrefixIndex();
+    // Non-null while a rebuild is aggregating: changes to replay on top of its result; guarded by this
+    private List<Worker[]> replay;
+
+    public List<SuggestionDto> suggest(String field, String prefix, Integer limit) {
+        PrefixIndex index = switch (field) {
+            case "jobType" -> jobTypes;
+            case "location" -> locations;
+            default -> throw new IllegalArgumentException("field must be jobType or location");
+        };
+        int n = limit == null || limit <= 0 ? maxSuggestions : Math.min(limit, maxSuggestions);
+        return index.suggest(prefix, n).stream()
+                .map(s -> SuggestionDto.builder().value(s.value()).count(s.count()).build())
+                .collect(Collectors.toList());
+    }
+
+    /** {@code before} is null for a new worker, {@code after} null for a deleted one. */
+    public synchronized void onWorkerChanged(Worker before, Worker after) {
+        if (replay != null) replay.add(new Worker[] {before, after});
+        apply(before, after);
+    }
+
+    private void apply(Worker before, Worker after) {
+        String oldJobType = before != null ? before.getJobType() : null;
+        String newJobType = after != null ? after.getJobType() : null;
+        if (!Objects.equals(oldJobType, newJobType)) {
+            if (oldJobType != null) jobTypes.remove(oldJobType);
+            if (newJobType != null) jobTypes.add(newJobType);
+        }
+        String oldLocation = before != null ? before.getLocation() : null;
+        String newLocation = after != null ? after.getLocation() : null;
+        if (!Objects.equals(oldLocation, newLocation)) {
+            if (oldLocation != null) locations.remove(oldLocation);
+            if (newLocation != null) locations.add(newLocation);
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${workers.autocomplete.rebuild-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            // Changes landing while the aggregations run may be missing from their counts; replay them after
+            // the reset. One the aggregation did see is counted twice until the next rebuild, never lost
+            replay = new ArrayList<>();
+        }
+        try {
+            Map<String, Long> jobTypeCounts = countBy("jobType");
+            Map<String, Long> locationCounts = countBy("location");
+            synchronized (this) {
+                jobTypes.reset(jobTypeCounts);
+                locations.reset(locationCounts);
+                replay.forEach(change -> apply(change[0], change[1]));
+            }
+            log.info("Autocomplete rebuilt: {} job types, {} locations", jobTypes.size(), locations.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild autocomplete: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                replay = null;
+            }
+        }
+    }
+
+    private Map<String, Long> countBy(String field) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(field).ne(null)),
+                Aggregation.group(field).count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document d : mongoTemplate.aggregate(aggregation, Worker.class, Document.class).getMappedResults()) {
+            Object value = d.get("_id");
+            if (value instanceof String s) {
+                counts.put(s, ((Number) d.get("count")).longValue());
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.WorkerCreateDto;
+import com.example.jobup.dto.WorkerImportResultDto;
+import com.example.jobup.entities.Role;
+import com.example.jobup.entities.User;
+import com.example.jobup.entities.Worker;
+import com.example.jobup.mapper.WorkerMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk worker onboarding from NDJSON (one {@link WorkerCreateDto} per line) or CSV with a
+ * header row ({@code userId,jobType,phoneNumber,location,description}). The input is read in
+ * chunks; per chunk users are resolved with one {@code $in} query, workers are inserted with one
+ * unordered bulk write and ROLE_WORKER is granted with another. Bad rows are reported
+ * individually and never fail the rest of the import. Existing workers are not overwritten.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final List<String> CSV_COLUMNS = List.of("userId", "jobType", "phoneNumber", "location", "description");
+
+    private final MongoTemplate mongoTemplate;
+    private final WorkerMapper workerMapper;
+    private final IGeocoder geocoder;
+    private final TokenVersionService tokenVersionService;
+    private final WorkerAutocompleteService workerAutocompleteService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${workers.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${workers.import.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${workers.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private record Row(long number, WorkerCreateDto dto) {}
+
+    private final class Run {
+        final long startNanos = System.nanoTime();
+        final Set<String> seenUserIds = new HashSet<>();
+        final List<WorkerImportResultDto.RowError> errors = new ArrayList<>();
+        long received;
+        long imported;
+        long failed;
+        boolean truncated;
+
+        void fail(long row, String userId, String error) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(WorkerImportResultDto.RowError.builder().row(row).userId(userId).error(error).build());
+            }
+        }
+    }
+
+    public WorkerImportResultDto importWorkers(InputStream body, Format format) throws IOException {
+        Run run = new Run();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Map<String, Integer> header = format == Format.CSV ? readCsvHeader(reader) : null;
+
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            if (run.received == maxRows) {
+                // Earlier chunks are already written; stop here and report instead of failing the call
+                run.truncated = true;
+                run.errors.add(WorkerImportResultDto.RowError.builder()
+                        .row(maxRows + 1)
+                        .error("Import is limited to " + maxRows + " rows; this and later rows were not read")
+                        .build());
+                break;
+            }
+            long rowNumber = ++run.received;
+            try {
+                chunk.add(new Row(rowNumber, format == Format.CSV ? parseCsvRow(line, header) : objectMapper.readValue(line, WorkerCreateDto.class)));
+            } catch (IOException | IllegalArgumentException e) {
+                run.fail(rowNumber, null, "Unparseable row: " + e.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, run);
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - run.startNanos) / 1_000_000);
+        double rowsPerSecond = Math.round(run.received * 1000.0 / durationMs * 10.0) / 10.0;
+        log.info("Worker import: {} rows, {} imported, {} failed in {} ms ({} rows/s)",
+                run.received, run.imported, run.failed, durationMs, rowsPerSecond);
+        return WorkerImportResultDto.builder()
+                .received(run.received)
+                .imported(run.imported)
+                .failed(run.failed)
+                .truncated(run.truncated)
+                .durationMs(durationMs)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(run.errors)
+                .build();
+    }
+
+    private void importChunk(List<Row> chunk, Run run) {
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            String userId = row.dto().getUserId();
+            if (userId == null || userId.isBlank()) {
+                run.fail(row.number(), userId, "userId is required");
+            } else if (row.dto().getJobType() == null || row.dto().getJobType().isBlank()) {
+                run.fail(row.number(), userId, "jobType is required");
+            } else if (!run.seenUserIds.add(userId)) {
+                run.fail(row.number(), userId, "Duplicate userId in import");
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) return;
+
+        Query userQuery = new Query(Criteria.where("id").in(valid.stream().map(r -> r.dto().getUserId()).collect(Collectors.toList())));
+        userQuery.fields().include("username").include("roles").include("rolesVersion");
+        Map<String, User> users = mongoTemplate.find(userQuery, User.class).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Row> rows = new ArrayList<>(valid.size());
+        List<Worker> workers = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            User user = users.get(row.dto().getUserId());
+            if (user == null) {
+                run.fail(row.number(), row.dto().getUserId(), "User not found");
+                continue;
+            }
+            Worker worker = workerMapper.toEntity(row.dto());
+            worker.setId(user.getId());
+            worker.setFullName(user.getUsername());
+            worker.setCoordinates(geocoder.geocode(worker.getLocation()).orElse(null));
+            WorkerService.applySearchKeys(worker);
+            rows.add(row);
+            workers.add(worker);
+        }
+        if (workers.isEmpty()) return;
+
+        Map<Integer, String> insertErrors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Worker.class).insert(workers).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                insertErrors.put(error.getIndex(), error.getCode() == DUPLICATE_KEY ? "Worker already exists" : error.getMessage());
+            }
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof MongoBulkWriteException bulk) {
+                bulk.getWriteErrors().forEach(error -> insertErrors.put(error.getIndex(),
+                        error.getCode() == DUPLICATE_KEY ? "Worker already exists" : error.getMessage()));
+            } else {
+                throw e;
+            }
+        }
+
+        List<User> promoted = new ArrayList<>();
+        BulkOperations roleOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        for (int i = 0; i < workers.size(); i++) {
+            Row row = rows.get(i);
+            if (insertErrors.containsKey(i)) {
+                run.fail(row.number(), row.dto().getUserId(), insertErrors.get(i));
+                continue;
+            }
+            run.imported++;
+            workerAutocompleteService.onWorkerChanged(null, workers.get(i));
+            User user = users.get(row.dto().getUserId());
+            if (!user.hasRole(Role.ROLE_WORKER)) {
+                // Guarded on the role so a concurrent createWorker does not bump the roles version twice
+                roleOps.updateOne(
+                        new Query(Criteria.where("id").is(user.getId()).and("roles").ne(Role.ROLE_WORKER)),
+                        new Update().addToSet("roles", Role.ROLE_WORKER).inc("rolesVersion", 1));
+                user.addRole(Role.ROLE_WORKER);
+                user.bumpRolesVersion();
+                promoted.add(user);
+            }
+        }
+        if (!promoted.isEmpty()) {
+            roleOps.execute();
+            // Existing tokens stay valid; their roles claim lacks ROLE_WORKER, so they are authorized from the DB
+            promoted.forEach(tokenVersionService::publish);
+        }
+    }
+
+    private static Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IllegalArgumentException("CSV header row is missing");
+        }
+        List<String> names = splitCsv(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            for (String column : CSV_COLUMNS) {
+                if (column.equalsIgnoreCase(names.get(i).trim())) header.put(column, i);
+            }
+        }
+        if (!header.containsKey("userId")) {
+            throw new IllegalArgumentException("CSV header must include userId");
+        }
+        return header;
+    }
+
+    private static WorkerCreateDto parseCsvRow(String line, Map<String, Integer> header) {
+        List<String> cells = splitCsv(line);
+        Function<String, String> cell = column -> {
+            Integer idx = header.get(column);
+            if (idx == null || idx >= cells.size()) return null;
+            String value = cells.get(idx).trim();
+            return value.isEmpty() ? null : value;
+        };
+        return WorkerCreateDto.builder()
+                .userId(cell.apply("userId"))
+                .jobType(cell.apply("jobType"))
+                .phoneNumber(cell.apply("phoneNumber"))
+                .location(cell.apply("location"))
+                .description(cell.apply("description"))
+                .build();
+    }
+
+    // RFC 4180 cells on one line: quoted cells may contain commas and doubled quotes
+    static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted cell");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.FileUploadResponseDto;
+import com.example.jobup.dto.JobDealDto;
+import com.example.jobup.dto.WorkerProfileDto;
+import com.example.jobup.dto.WorkerRatingStatsDto;
+import com.example.jobup.dto.WorkerResponseDto;
+import com.example.jobup.entities.FileUpload;
+import com.example.jobup.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * One-call worker profile: the worker, rating stats, portfolio, certificates and completed deals
+ * are fetched concurrently on a bounded pool, each with its own deadline. A part that fails or
+ * times out is left null and listed in {@code missingParts}; only the worker itself is required.
+ * Complete profiles are cached for a few seconds, so edits show up after at most the TTL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerProfileService {
+
+    private final IWorkerService workerService;
+    private final WorkerRatingService workerRatingService;
+    private final FileUploadService fileUploadService;
+    private final JobDealService jobDealService;
+    private final MeterRegistry meterRegistry;
+    @Qualifier("workerProfileExecutor")
+    private final ExecutorService workerProfileExecutor;
+
+    @Value("${workers.profile.part-timeout-ms:800}")
+    private long partTimeoutMs;
+
+    @Value("${workers.profile.cache-ttl-ms:5000}")
+    private long cacheTtlMs;
+
+    @Value("${workers.profile.cache-max-entries:1000}")
+    private int cacheMaxEntries;
+
+    private Counter partFailures;
+    private final Map<String, CachedProfile> cache = new ConcurrentHashMap<>();
+
+    private record CachedProfile(WorkerProfileDto profile, long expiresAtMillis) {}
+
+    @PostConstruct
+    void init() {
+        partFailures = Counter.builder("worker.profile.part.failures").register(meterRegistry);
+    }
+
+    /**
+     * @throws NoSuchElementException     if the worker does not exist
+     * @throws ServiceOverloadedException if the worker lookup itself failed or timed out
+     */
+    public WorkerProfileDto getProfile(String workerId) {
+        long now = System.currentTimeMillis();
+        CachedProfile cached = cache.get(workerId);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return cached.profile();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(partTimeoutMs);
+        Future<Optional<WorkerResponseDto>> worker = submit(() -> workerService.getWorkerById(workerId));
+        Future<WorkerRatingStatsDto> stats = submit(() -> workerRatingService.getWorkerRatingStats(workerId));
+        Future<List<FileUploadResponseDto>> portfolio = submit(() -> fileUploadService.getFilesByOwnerAndCategory(workerId, FileUpload.FileCategory.WORKER_PORTFOLIO));
+        Future<List<FileUploadResponseDto>> certificates = submit(() -> fileUploadService.getFilesByOwnerAndCategory(workerId, FileUpload.FileCategory.WORKER_CERTIFICATE));
+        Future<List<JobDealDto>> deals = submit(() -> jobDealService.getCompletedDealsByWorkerId(workerId));
+
+        List<String> missing = new ArrayList<>();
+        Optional<WorkerResponseDto> found = await("worker", worker, deadline, missing);
+        if (found == null) {
+            List.of(stats, portfolio, certificates, deals).forEach(f -> f.cancel(true));
+            throw new ServiceOverloadedException("Worker lookup failed");
+        }
+        if (found.isEmpty()) {
+            List.of(stats, portfolio, certificates, deals).forEach(f -> f.cancel(true));
+            throw new NoSuchElementException("Worker not found: " + workerId);
+        }
+
+        WorkerProfileDto profile = WorkerProfileDto.builder()
+                .worker(found.get())
+                .ratingStats(await("ratingStats", stats, deadline, missing))
+                .portfolio(await("portfolio", portfolio, deadline, missing))
+                .certificates(await("certificates", certificates, deadline, missing))
+                .completedDeals(await("completedDeals", deals, deadline, missing))
+                .missingParts(missing)
+                .build();
+
+        // Partial results are not cached, so the next request retries the failed parts
+        if (missing.isEmpty()) {
+            if (cache.size() >= cacheMaxEntries) {
+                cache.values().removeIf(e -> e.expiresAtMillis() <= now);
+            }
+            if (cache.size() < cacheMaxEntries) {
+                cache.put(workerId, new CachedProfile(profile, now + cacheTtlMs));
+            }
+        }
+        return profile;
+    }
+
+    private <T> Future<T> submit(Callable<T> part) {
+        try {
+            return workerProfileExecutor.submit(part);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Null when the part failed or missed the shared deadline
+    private <T> T await(String name, Future<T> future, long deadlineNanos, List<String> missing) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Worker profile part {} timed out", name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Worker profile part {} failed: {}", name, e.getCause().getMessage());
+        }
+        partFailures.increment();
+        missing.add(name);
+        return null;
+    }
+}
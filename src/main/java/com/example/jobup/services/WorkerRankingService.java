@@ -0,0 +1,320 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.RankedWorkerDto;
+import com.example.jobup.entities.Worker;
+import com.example.jobup.util.TextKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Best workers per (jobType, location) and per jobType in any location, ranked by a Bayesian
+ * average: {@code (C * m + n * avg) / (C + n)}, where m is the mean of all ratings and C the
+ * prior weight. A single 5-star review thus stays close to m while many 4.8s keep their 4.8.
+ * <p>
+ * Each bucket retains a bounded min-heap of its best {@code 2K} rated workers and publishes a
+ * sorted top-K snapshot, so reads are O(K) and lock-free. Rating changes update the affected
+ * buckets in place; a bucket whose retained set falls below K reloads from Mongo outside the
+ * lock. A periodic rebuild recomputes m and picks up writes made by other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerRankingService {
+
+    private static final String ANY_LOCATION = "*";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${workers.ranking.k:20}")
+    private int k;
+
+    @Value("${workers.ranking.prior-weight:10}")
+    private double priorWeight;
+
+    private volatile double globalMean = 3.0;
+    private volatile Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> bucketsByWorker = new ConcurrentHashMap<>();
+    // Non-null while a rebuild is querying: worker id -> latest state (empty when deleted)
+    private Map<String, Optional<Worker>> replay;
+
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+
+    record Entry(String id, String fullName, String jobType, String location,
+                         double rating, long ratingsCount, double score) {}
+
+    static final Comparator<Entry> BY_SCORE = Comparator.comparingDouble(Entry::score)
+            .thenComparingLong(Entry::ratingsCount)
+            .thenComparing(Entry::id, Comparator.reverseOrder());
+
+    /** Top workers for a trade, optionally in one city; at most K entries. */
+    public List<RankedWorkerDto> top(String jobType, String location, Integer limit) {
+        String jobTypeKey = TextKeys.normalize(jobType);
+        if (jobTypeKey == null) {
+            throw new IllegalArgumentException("jobType is required");
+        }
+        String locationKey = TextKeys.normalize(location);
+        Bucket bucket = buckets.get(bucketKey(jobTypeKey, locationKey == null ? ANY_LOCATION : locationKey));
+        if (bucket == null) return List.of();
+
+        int n = limit == null || limit <= 0 ? k : Math.min(limit, k);
+        List<Entry> top = bucket.top;
+        List<RankedWorkerDto> result = new ArrayList<>(Math.min(n, top.size()));
+        for (int i = 0; i < top.size() && i < n; i++) {
+            Entry e = top.get(i);
+            result.add(RankedWorkerDto.builder()
+                    .id(e.id())
+                    .fullName(e.fullName())
+                    .jobType(e.jobType())
+                    .location(e.location())
+                    .rating(e.rating())
+                    .ratingsCount(e.ratingsCount())
+                    .score(Math.round(e.score() * 1000.0) / 1000.0)
+                    .build());
+        }
+        return result;
+    }
+
+    /** Call after a worker's rating aggregate, jobType or location changed. */
+    public void onWorkerChanged(Worker worker) {
+        List<String> stale;
+        synchronized (this) {
+            if (replay != null) replay.put(worker.getId(), Optional.of(worker));
+            stale = apply(worker);
+        }
+        stale.forEach(this::reload);
+    }
+
+    public void onWorkerDeleted(String workerId) {
+        List<String> stale;
+        synchronized (this) {
+            if (replay != null) replay.put(workerId, Optional.empty());
+            stale = remove(workerId);
+        }
+        stale.forEach(this::reload);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${workers.ranking.rebuild-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            // Changes landing while the query runs may be missing from its result; replay them after the swap
+            replay = new LinkedHashMap<>();
+        }
+        try {
+            List<Worker> rated = mongoTemplate.find(ratedWorkers(new Criteria()), Worker.class);
+            double weighted = 0;
+            long total = 0;
+            for (Worker w : rated) {
+                weighted += w.getRating() * w.getRatingsCount();
+                total += w.getRatingsCount();
+            }
+            double mean = total == 0 ? 3.0 : weighted / total;
+
+            Map<String, Bucket> fresh = new ConcurrentHashMap<>();
+            Map<String, Set<String>> membership = new HashMap<>();
+            for (Worker w : rated) {
+                Entry entry = toEntry(w, mean);
+                for (String key : bucketKeys(w)) {
+                    if (fresh.computeIfAbsent(key, x -> new Bucket()).offer(entry, 2 * k)) {
+                        membership.computeIfAbsent(w.getId(), x -> ConcurrentHashMap.newKeySet()).add(key);
+                    }
+                }
+            }
+
+            List<String> stale = new ArrayList<>();
+            synchronized (this) {
+                globalMean = mean;
+                buckets = fresh;
+                bucketsByWorker.clear();
+                bucketsByWorker.putAll(membership);
+                replay.forEach((id, worker) -> stale.addAll(worker.isPresent() ? apply(worker.get()) : remove(id)));
+                replay = null;
+                fresh.values().forEach(b -> b.publish(k));
+            }
+            stale.stream().distinct().forEach(this::reload);
+            log.info("Worker rankings rebuilt: {} rated workers, {} buckets, mean {}", rated.size(), fresh.size(), mean);
+        } catch (Exception e) {
+            synchronized (this) {
+                replay = null;
+            }
+            log.error("Failed to rebuild worker rankings: {}", e.getMessage());
+        }
+    }
+
+    /** Returns the keys of buckets that need a reload. */
+    private List<String> apply(Worker worker) {
+        List<String> stale = remove(worker.getId());
+        if (worker.getRatingsCount() <= 0) return stale;
+
+        Entry entry = toEntry(worker, globalMean);
+        Set<String> keys = ConcurrentHashMap.newKeySet();
+        for (String key : bucketKeys(worker)) {
+            Bucket bucket = buckets.computeIfAbsent(key, x -> new Bucket());
+            if (bucket.offer(entry, 2 * k)) keys.add(key);
+            if (bucket.needsReload(k) && !stale.contains(key)) stale.add(key);
+            bucket.publish(k);
+        }
+        if (!keys.isEmpty()) bucketsByWorker.put(worker.getId(), keys);
+        return stale;
+    }
+
+    private List<String> remove(String workerId) {
+        Set<String> keys = bucketsByWorker.remove(workerId);
+        if (keys == null) return new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        for (String key : keys) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) continue;
+            if (bucket.remove(workerId) && bucket.needsReload(k)) stale.add(key);
+            bucket.publish(k);
+        }
+        return stale;
+    }
+
+    // Workers beyond the retained set were dropped earlier; refetch the bucket to refill it. The query
+    // runs outside the lock, so the result is applied only if the bucket did not change meanwhile.
+    private void reload(String key) {
+        String[] parts = key.split("\\|", 2);
+        for (int attempt = 0; attempt < MAX_RELOAD_ATTEMPTS; attempt++) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) return;
+            long version;
+            synchronized (this) {
+                if (!bucket.needsReload(k)) return;
+                version = bucket.version;
+            }
+
+            List<Criteria> clauses = new ArrayList<>();
+            clauses.add(keyOrUnkeyed("jobTypeKey", parts[0]));
+            if (!ANY_LOCATION.equals(parts[1])) {
+                clauses.add(keyOrUnkeyed("locationKey", parts[1]));
+            }
+            // Unkeyed documents are matched broadly in Mongo, then narrowed with the same bucketKeys as rebuild
+            List<Worker> rated = mongoTemplate.find(ratedWorkers(new Criteria().andOperator(clauses)), Worker.class)
+                    .stream()
+                    .filter(w -> bucketKeys(w).contains(key))
+                    .toList();
+
+            synchronized (this) {
+                if (buckets.get(key) != bucket || bucket.version != version) continue;
+                bucket.clear();
+                for (Worker w : rated) {
+                    if (bucket.offer(toEntry(w, globalMean), 2 * k)) {
+                        bucketsByWorker.computeIfAbsent(w.getId(), x -> ConcurrentHashMap.newKeySet()).add(key);
+                    }
+                }
+                bucket.publish(k);
+                return;
+            }
+        }
+        log.debug("Ranking bucket {} kept changing during reload; leaving it to the next rebuild", key);
+    }
+
+    // Matches the stored key, or documents whose key was never backfilled (bucketKeys derives those from the raw field)
+    private static Criteria keyOrUnkeyed(String keyField, String key) {
+        return new Criteria().orOperator(Criteria.where(keyField).is(key), Criteria.where(keyField).is(null));
+    }
+
+    private static Query ratedWorkers(Criteria filter) {
+        Query query = new Query(filter.and("ratingsCount").gt(0));
+        query.fields().include("fullName").include("jobType").include("location")
+                .include("jobTypeKey").include("locationKey").include("rating").include("ratingsCount");
+        return query;
+    }
+
+    private Entry toEntry(Worker w, double mean) {
+        double n = w.getRatingsCount();
+        double score = (priorWeight * mean + n * w.getRating()) / (priorWeight + n);
+        return new Entry(w.getId(), w.getFullName(), w.getJobType(), w.getLocation(), w.getRating(), w.getRatingsCount(), score);
+    }
+
+    private static List<String> bucketKeys(Worker w) {
+        // Keys may be missing on documents not yet backfilled; derive them the same way
+        String jobTypeKey = w.getJobTypeKey() != null ? w.getJobTypeKey() : TextKeys.normalize(w.getJobType());
+        String locationKey = w.getLocationKey() != null ? w.getLocationKey() : TextKeys.normalize(w.getLocation());
+        if (jobTypeKey == null) return List.of();
+        return locationKey == null
+                ? List.of(bucketKey(jobTypeKey, ANY_LOCATION))
+                : List.of(bucketKey(jobTypeKey, locationKey), bucketKey(jobTypeKey, ANY_LOCATION));
+    }
+
+    private static String bucketKey(String jobTypeKey, String locationKey) {
+        return jobTypeKey + "|" + locationKey;
+    }
+
+    /** Mutated only under the service lock; {@link #top} is read without locking. */
+    static final class Bucket {
+        private final PriorityQueue<Entry> heap = new PriorityQueue<>(BY_SCORE);
+        private final Map<String, Entry> members = new HashMap<>();
+        // Best entry left out for lack of room. Every retained entry outranks it, so an entry that
+        // does not is kept out too, even when a removal freed a slot: a dropped worker may rank above it.
+        private Entry ceiling;
+        private long version;
+        volatile List<Entry> top = List.of();
+
+        /** Returns whether the entry is retained. */
+        boolean offer(Entry entry, int capacity) {
+            version++;
+            remove(entry.id());
+            if (ceiling != null && BY_SCORE.compare(entry, ceiling) <= 0) return false;
+            if (heap.size() < capacity) {
+                add(entry);
+                return true;
+            }
+            if (BY_SCORE.compare(entry, heap.peek()) <= 0) {
+                ceiling = entry;
+                return false;
+            }
+            ceiling = heap.poll();
+            members.remove(ceiling.id());
+            add(entry);
+            return true;
+        }
+
+        boolean remove(String workerId) {
+            Entry entry = members.remove(workerId);
+            if (entry == null) return false;
+            version++;
+            return heap.remove(entry);
+        }
+
+        /** Whether workers were dropped and the retained set no longer covers the top k. */
+        boolean needsReload(int k) {
+            return ceiling != null && members.size() < k;
+        }
+
+        void clear() {
+            version++;
+            heap.clear();
+            members.clear();
+            ceiling = null;
+        }
+
+        void publish(int k) {
+            List<Entry> sorted = new ArrayList<>(heap);
+            sorted.sort(BY_SCORE.reversed());
+            top = List.copyOf(sorted.subList(0, Math.min(k, sorted.size())));
+        }
+
+        private void add(Entry entry) {
+            heap.add(entry);
+            members.put(entry.id(), entry);
+        }
+    }
+}
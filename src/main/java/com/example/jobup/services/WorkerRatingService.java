@@ -23,6 +23,7 @@ public class WorkerRatingService {
     private final JobDealRepository dealRepository;
     private final JobRatingRepository ratingRepository;
     private final WorkerRepo workerRepository;
+    private final WorkerRankingService workerRankingService;
 
     public void updateWorkerRating(String workerId) {
         List<JobRating> ratings = ratingRepository.findByWorkerId(workerId);
@@ -33,7 +34,7 @@ public class WorkerRatingService {
         if (ratings.isEmpty()) {
             worker.setRating(0.0);
             worker.setRatingsCount(0);
-            workerRepository.save(worker);
+            workerRankingService.onWorkerChanged(workerRepository.save(worker));
             log.info("Reset rating for worker {} to 0 (no ratings)", workerId);
             return;
         }
@@ -45,7 +46,7 @@ public class WorkerRatingService {
         double avg = Math.round((stats.getAverage()) * 100.0) / 100.0;
         worker.setRating(avg);
         worker.setRatingsCount(stats.getCount());
-        workerRepository.save(worker);
+        workerRankingService.onWorkerChanged(workerRepository.save(worker));
 
         log.info("Updated rating for worker {}: {} ({} ratings)", workerId, avg, stats.getCount());
     }
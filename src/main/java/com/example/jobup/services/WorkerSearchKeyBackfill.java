@@ -0,0 +1,72 @@
+package com.example.jobup.services;
+
+import com.example.jobup.util.TextKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Fills worker jobTypeKey / locationKey for documents written before the keys existed.
+ * Runs on every startup (not only under the migrate profile): keyed lookups miss unkeyed
+ * workers, so they must not depend on someone remembering to run the migration. Once every
+ * worker is keyed this is a single query that returns nothing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerSearchKeyBackfill implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${workers.search-keys.backfill-on-startup:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) return;
+        try {
+            int keyed = backfill();
+            if (keyed > 0) log.info("Backfilled search keys for {} workers", keyed);
+        } catch (Exception e) {
+            log.error("Worker search key backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /** Unordered bulk batches; safe to re-run, only documents still missing a key are touched. */
+    int backfill() {
+        Query missing = new Query(new Criteria().orOperator(
+                Criteria.where("jobTypeKey").exists(false),
+                Criteria.where("locationKey").exists(false)));
+        missing.fields().include("jobType").include("location");
+        int keyed = 0;
+
+        try (var docs = mongoTemplate.stream(missing, Document.class, "worker")) {
+            BulkOperations bulk = null;
+            int pending = 0;
+            for (Document doc : (Iterable<Document>) docs::iterator) {
+                if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "worker");
+                bulk.updateOne(new Query(Criteria.where("_id").is(doc.get("_id"))), new Update()
+                        .set("jobTypeKey", TextKeys.normalize(doc.getString("jobType")))
+                        .set("locationKey", TextKeys.normalize(doc.getString("location"))));
+                keyed++;
+                if (++pending == BATCH_SIZE) {
+                    bulk.execute();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) bulk.execute();
+        }
+        return keyed;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.jobup.services;
 
+import com.example.jobup.dto.CursorPageDto;
+import com.example.jobup.dto.PageDto;
 import com.example.jobup.dto.WorkerCreateDto;
+import com.example.jobup.dto.WorkerQueryDto;
 import com.example.jobup.dto.WorkerUpdateDto;
 import com.example.jobup.dto.WorkerResponseDto;
 import com.example.jobup.entities.User;
@@ -10,6 +13,17 @@ import com.example.jobup.repositories.UserRepository;
 import com.example.jobup.repositories.WorkerRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.example.jobup.util.GeoNear;
+import com.example.jobup.util.RankCursor;
+import com.example.jobup.util.TextKeys;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -25,13 +39,93 @@ public class WorkerService implements IWorkerService {
     private final WorkerMapper workerMapper;
     private final UserRoleService userRoleService;
     private final UserRepository userRepository;
+    private final WatermarkService watermarkService;
+    private final IGeocoder geocoder;
+    private final MongoTemplate mongoTemplate;
+    private final WorkerRankingService workerRankingService;
+    private final WorkerAutocompleteService workerAutocompleteService;
+
+    @Value("${workers.query.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${workers.query.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${geo.nearby.max-radius-km:200}")
+    private double maxRadiusKm;
+
+    @Value("${geo.nearby.max-results:500}")
+    private int maxNearbyResults;
+
+    /** Version of the worker collection (any save or delete changes it), for conditional GETs. */
+    @Override
+    public String workersETag(Object... requestKey) {
+        return watermarkService.etag("worker", new Criteria(), "updatedAt", requestKey);
+    }
 
     public List<WorkerResponseDto> getAllWorkers(String excludeUserId) {
-        var stream = workerRepo.findAll().stream();
-        if (excludeUserId != null) {
-            stream = stream.filter(w -> !excludeUserId.equals(w.getId())); // Worker.id == userId in your design
+        // Worker.id == userId in your design
+        List<Worker> workers = excludeUserId != null ? workerRepo.findByIdNot(excludeUserId) : workerRepo.findAll();
+        return workers.stream().map(workerMapper::toResponseDto).collect(Collectors.toList());
+    }
+
+    /**
+     * Combined worker search: all filters in one Mongo query, sorted by rating or ratingsCount
+     * (descending, _id as tie-break) and paged by keyset so each page is an index range scan.
+     */
+    @Override
+    public CursorPageDto<WorkerResponseDto> query(WorkerQueryDto q) {
+        String sortField = q.getSort() == null || q.getSort().isBlank() ? "rating" : q.getSort();
+        if (!sortField.equals("rating") && !sortField.equals("ratingsCount")) {
+            throw new IllegalArgumentException("sort must be rating or ratingsCount");
+        }
+        int limit = q.getSize() == null || q.getSize() <= 0 ? defaultPageSize : Math.min(q.getSize(), maxPageSize);
+
+        List<Criteria> clauses = new java.util.ArrayList<>();
+        if (q.getJobType() != null && !q.getJobType().isBlank()) {
+            clauses.add(Criteria.where("jobTypeKey").is(TextKeys.normalize(q.getJobType())));
+        }
+        if (q.getLocation() != null && !q.getLocation().isBlank()) {
+            clauses.add(Criteria.where("locationKey").is(TextKeys.normalize(q.getLocation())));
+        }
+        if (q.getMinRating() != null) {
+            clauses.add(Criteria.where("rating").gte(q.getMinRating()));
+        }
+        if (q.getMinRatingsCount() != null) {
+            clauses.add(Criteria.where("ratingsCount").gte(q.getMinRatingsCount()));
+        }
+        if (q.getExcludeUserId() != null) {
+            clauses.add(Criteria.where("id").ne(q.getExcludeUserId()));
         }
-        return stream.map(workerMapper::toResponseDto).collect(Collectors.toList());
+        if (q.getCursor() != null && !q.getCursor().isBlank()) {
+            RankCursor c = RankCursor.decode(q.getCursor(), sortField);
+            Object value = sortField.equals("rating") ? (Object) c.value() : (Object) (long) c.value();
+            // (field < v) OR (field == v AND _id < id)
+            clauses.add(new Criteria().orOperator(
+                    Criteria.where(sortField).lt(value),
+                    Criteria.where(sortField).is(value).and("id").lt(c.id())));
+        }
+
+        Query query = new Query(clauses.isEmpty() ? new Criteria() : new Criteria().andOperator(clauses))
+                .with(Sort.by(Sort.Direction.DESC, sortField).and(Sort.by(Sort.Direction.DESC, "id")))
+                .limit(limit + 1);
+        List<Worker> workers = mongoTemplate.find(query, Worker.class);
+
+        boolean hasMore = workers.size() > limit;
+        if (hasMore) {
+            workers = workers.subList(0, limit);
+        }
+        String next = null;
+        if (hasMore) {
+            Worker last = workers.get(workers.size() - 1);
+            double value = sortField.equals("rating") ? last.getRating() : last.getRatingsCount();
+            next = new RankCursor(sortField, value, last.getId()).encode();
+        }
+        return CursorPageDto.<WorkerResponseDto>builder()
+                .items(workers.stream().map(workerMapper::toResponseDto).collect(Collectors.toList()))
+                .nextCursor(next)
+                .hasMore(hasMore)
+                .build();
     }
 
     // keep old method for compatibility
@@ -40,19 +134,55 @@ public class WorkerService implements IWorkerService {
     }
 
     public List<WorkerResponseDto> searchByLocation(String location, String excludeUserId) {
-        var stream = workerRepo.findByLocationIgnoreCase(location).stream();
-        if (excludeUserId != null) {
-            stream = stream.filter(w -> !excludeUserId.equals(w.getId()));
-        }
-        return stream.map(workerMapper::toResponseDto).collect(Collectors.toList());
+        String key = TextKeys.normalize(location);
+        List<Worker> workers = excludeUserId != null
+                ? workerRepo.findByLocationKeyAndIdNot(key, excludeUserId)
+                : workerRepo.findByLocationKey(key);
+        return workers.stream().map(workerMapper::toResponseDto).collect(Collectors.toList());
     }
 
     public List<WorkerResponseDto> searchByJobType(String jobType, String excludeUserId) {
-        var stream = workerRepo.findByJobTypeIgnoreCase(jobType).stream();
+        String key = TextKeys.normalize(jobType);
+        List<Worker> workers = excludeUserId != null
+                ? workerRepo.findByJobTypeKeyAndIdNot(key, excludeUserId)
+                : workerRepo.findByJobTypeKey(key);
+        return workers.stream().map(workerMapper::toResponseDto).collect(Collectors.toList());
+    }
+
+    /**
+     * Workers within {@code radiusKm} of a point, nearest first, via $geoNear on the
+     * coordinates 2dsphere index. Optional jobType filter is applied inside the geo stage.
+     */
+    @Override
+    public PageDto<WorkerResponseDto> findNearby(GeoJsonPoint point, double radiusKm, String jobType,
+                                                 String excludeUserId, int page, int size) {
+        GeoNear.validate(radiusKm, maxRadiusKm, page, size, maxNearbyResults);
+        Criteria filter = new Criteria();
+        if (jobType != null && !jobType.isBlank()) {
+            filter.and("jobTypeKey").is(TextKeys.normalize(jobType));
+        }
         if (excludeUserId != null) {
-            stream = stream.filter(w -> !excludeUserId.equals(w.getId()));
+            // Raw stage bypasses id mapping; Spring stores hex-string ids as ObjectId
+            filter.and("_id").ne(org.bson.types.ObjectId.isValid(excludeUserId) ? new org.bson.types.ObjectId(excludeUserId) : excludeUserId);
         }
-        return stream.map(workerMapper::toResponseDto).collect(Collectors.toList());
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                GeoNear.stage(point, radiusKm, filter),
+                Aggregation.skip((long) page * size),
+                Aggregation.limit(size + 1));
+        List<Document> docs = mongoTemplate.aggregate(aggregation, "worker", Document.class).getMappedResults();
+
+        List<WorkerResponseDto> items = docs.stream().limit(size).map(d -> {
+            WorkerResponseDto dto = workerMapper.toResponseDto(mongoTemplate.getConverter().read(Worker.class, d));
+            dto.setDistanceKm(d.getDouble(GeoNear.DISTANCE_FIELD));
+            return dto;
+        }).collect(Collectors.toList());
+        return PageDto.<WorkerResponseDto>builder()
+                .items(items)
+                .page(page)
+                .size(size)
+                .hasMore(docs.size() > size && (long) (page + 1) * size < maxNearbyResults)
+                .build();
     }
 
     public Optional<WorkerResponseDto> getWorkerById(String id) {
@@ -68,8 +198,11 @@ public class WorkerService implements IWorkerService {
         Worker entity = workerMapper.toEntity(dto);
         entity.setFullName(user.getUsername()); // Récupérer depuis User
         entity.setId(dto.getUserId());
+        entity.setCoordinates(geocoder.geocode(entity.getLocation()).orElse(null));
+        applySearchKeys(entity);
         
         Worker saved = workerRepo.save(entity);
+        workerAutocompleteService.onWorkerChanged(null, saved);
         
         // Ajouter le rôle WORKER à l'utilisateur
         userRoleService.addWorkerRole(dto.getUserId());
@@ -82,25 +215,42 @@ public class WorkerService implements IWorkerService {
                 .orElseThrow(() -> new RuntimeException("Worker not found"));
 
         // Mise à jour partielle des champs
+        String previousLocation = existing.getLocation();
+        Worker before = Worker.builder().jobType(existing.getJobType()).location(previousLocation).build();
         workerMapper.updateWorkerFromDto(dto, existing);
+        if (existing.getCoordinates() == null || !java.util.Objects.equals(previousLocation, existing.getLocation())) {
+            existing.setCoordinates(geocoder.geocode(existing.getLocation()).orElse(null));
+        }
+        applySearchKeys(existing);
 
         Worker updated = workerRepo.save(existing);
+        workerRankingService.onWorkerChanged(updated);
+        workerAutocompleteService.onWorkerChanged(before, updated);
         return workerMapper.toResponseDto(updated);
     }
 
+    static void applySearchKeys(Worker worker) {
+        worker.setJobTypeKey(TextKeys.normalize(worker.getJobType()));
+        worker.setLocationKey(TextKeys.normalize(worker.getLocation()));
+    }
+
     public void deleteWorker(String id) {
-        workerRepo.deleteById(id);
+        workerRepo.findById(id).ifPresent(existing -> {
+            workerRepo.deleteById(id);
+            workerAutocompleteService.onWorkerChanged(existing, null);
+        });
+        workerRankingService.onWorkerDeleted(id);
     }
 
     public List<WorkerResponseDto> searchByLocation(String location) {
-        return workerRepo.findByLocationIgnoreCase(location)
+        return workerRepo.findByLocationKey(TextKeys.normalize(location))
                 .stream()
                 .map(workerMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
 
     public List<WorkerResponseDto> searchByJobType(String jobType) {
-        return workerRepo.findByJobTypeIgnoreCase(jobType)
+        return workerRepo.findByJobTypeKey(TextKeys.normalize(jobType))
                 .stream()
                 .map(workerMapper::toResponseDto)
                 .collect(Collectors.toList());
@@ -114,12 +264,12 @@ public class WorkerService implements IWorkerService {
     }
 
     public List<WorkerResponseDto> searchByLocationExcept(String location, String userId) {
-        return workerRepo.findByLocationIgnoreCaseAndIdNot(location, userId)
+        return workerRepo.findByLocationKeyAndIdNot(TextKeys.normalize(location), userId)
                 .stream().map(workerMapper::toResponseDto).collect(Collectors.toList());
     }
 
     public List<WorkerResponseDto> searchByJobTypeExcept(String jobType, String userId) {
-        return workerRepo.findByJobTypeIgnoreCaseAndIdNot(jobType, userId)
+        return workerRepo.findByJobTypeKeyAndIdNot(TextKeys.normalize(jobType), userId)
                 .stream().map(workerMapper::toResponseDto).collect(Collectors.toList());
     }
 
@@ -0,0 +1,33 @@
+package com.example.jobup.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position (createdAt, id) for lists sorted newest first.
+ * Encoded as base64url so clients treat it as a token, not something to build by hand.
+ * A null createdAt (documents written before the field existed, which sort last) is encoded as
+ * an empty timestamp.
+ */
+public record FeedCursor(Instant createdAt, String id) {
+
+    public String encode() {
+        String raw = (createdAt == null ? "" : createdAt.toEpochMilli()) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static FeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            String millis = raw.substring(0, sep);
+            return new FeedCursor(millis.isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(millis)), raw.substring(sep + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
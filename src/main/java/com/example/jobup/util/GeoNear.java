@@ -0,0 +1,49 @@
+package com.example.jobup.util;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+
+/**
+ * Builds the {@code $geoNear} stage for radius searches over a 2dsphere-indexed
+ * {@code coordinates} field. Written as a raw stage so units are explicit: GeoJSON distances
+ * are metres, and {@code distanceMultiplier} turns them into kilometres in {@link #DISTANCE_FIELD}.
+ */
+public final class GeoNear {
+
+    public static final String DISTANCE_FIELD = "distanceKm";
+
+    private GeoNear() {}
+
+    public static AggregationOperation stage(GeoJsonPoint near, double radiusKm, Criteria filter) {
+        Document stage = new Document("near", new Document("type", "Point")
+                        .append("coordinates", List.of(near.getX(), near.getY())))
+                .append("key", "coordinates")
+                .append("distanceField", DISTANCE_FIELD)
+                .append("maxDistance", radiusKm * 1000)
+                .append("distanceMultiplier", 0.001)
+                .append("spherical", true)
+                .append("query", filter.getCriteriaObject());
+        return ctx -> new Document("$geoNear", stage);
+    }
+
+    /** Rejects radii and page windows outside the configured bounds. */
+    public static void validate(double radiusKm, double maxRadiusKm, int page, int size, int maxResults) {
+        if (!(radiusKm > 0) || radiusKm > maxRadiusKm) {
+            throw new IllegalArgumentException("radiusKm must be in (0, " + maxRadiusKm + "]");
+        }
+        if (page < 0 || size <= 0 || (long) page * size >= maxResults) {
+            throw new IllegalArgumentException("Page out of range");
+        }
+    }
+
+    public static GeoJsonPoint point(double lat, double lng) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        return new GeoJsonPoint(lng, lat);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.jobup.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Weighted prefix lookup over a small vocabulary (trades, city names).
+ * Terms are matched on their {@link TextKeys#normalize normalized} form and kept in sorted
+ * parallel arrays, so a lookup is a binary search plus a scan of the matching range.
+ * Writers are serialized and republish the arrays; readers never lock.
+ */
+public class PrefixIndex {
+
+    public record Suggestion(String value, long count) {}
+
+    private record Snapshot(String[] keys, String[] values, long[] counts) {}
+
+    // key -> [display value, count]; guarded by this
+    private final TreeMap<String, Term> terms = new TreeMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new String[0], new long[0]);
+
+    private static final class Term {
+        String value;
+        long count;
+    }
+
+    public synchronized void add(String value) {
+        String key = TextKeys.normalize(value);
+        if (key == null) return;
+        Term term = terms.computeIfAbsent(key, k -> new Term());
+        if (term.value == null) term.value = value.trim();
+        term.count++;
+        publish();
+    }
+
+    public synchronized void remove(String value) {
+        String key = TextKeys.normalize(value);
+        if (key == null) return;
+        Term term = terms.get(key);
+        if (term == null) return;
+        if (--term.count <= 0) terms.remove(key);
+        publish();
+    }
+
+    /** Replaces all terms; {@code counts} maps raw values to occurrences and may contain spelling variants. */
+    public synchronized void reset(Map<String, Long> counts) {
+        terms.clear();
+        counts.forEach((value, count) -> {
+            String key = TextKeys.normalize(value);
+            if (key == null || count == null || count <= 0) return;
+            Term term = terms.computeIfAbsent(key, k -> new Term());
+            if (term.value == null) term.value = value.trim();
+            term.count += count;
+        });
+        publish();
+    }
+
+    /** Up to {@code limit} terms starting with {@code prefix}, most frequent first. */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        Snapshot s = snapshot;
+        String p = prefix == null ? null : TextKeys.normalize(prefix);
+        int from = p == null ? 0 : lowerBound(s.keys(), p);
+        int to = from;
+        while (to < s.keys().length && (p == null || s.keys()[to].startsWith(p))) to++;
+
+        // Partial selection: the matching range is small, limit smaller still
+        List<Integer> best = new ArrayList<>(limit + 1);
+        for (int i = from; i < to; i++) {
+            int pos = best.size();
+            while (pos > 0 && s.counts()[best.get(pos - 1)] < s.counts()[i]) pos--;
+            if (pos < limit) {
+                best.add(pos, i);
+                if (best.size() > limit) best.remove(limit);
+            }
+        }
+        List<Suggestion> result = new ArrayList<>(best.size());
+        for (int i : best) result.add(new Suggestion(s.values()[i], s.counts()[i]));
+        return result;
+    }
+
+    public int size() {
+        return snapshot.keys().length;
+    }
+
+    private void publish() {
+        int n = terms.size();
+        String[] keys = new String[n];
+        String[] values = new String[n];
+        long[] counts = new long[n];
+        int i = 0;
+        for (Map.Entry<String, Term> e : terms.entrySet()) {
+            keys[i] = e.getKey();
+            values[i] = e.getValue().value;
+            counts[i] = e.getValue().count;
+            i++;
+        }
+        snapshot = new Snapshot(keys, values, counts);
+    }
+
+    private static int lowerBound(String[] keys, String prefix) {
+        int idx = Arrays.binarySearch(keys, prefix);
+        return idx >= 0 ? idx : -idx - 1;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.jobup.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position (sort field, value, id) for lists sorted by a numeric field descending.
+ * The sort field is part of the token so a cursor from one ordering is rejected by another.
+ */
+public record RankCursor(String sort, double value, String id) {
+
+    public String encode() {
+        String raw = sort + ":" + value + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()} for {@code expectedSort}
+     */
+    public static RankCursor decode(String cursor, String expectedSort) {
+        RankCursor decoded;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            decoded = new RankCursor(parts[0], Double.parseDouble(parts[1]), parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!decoded.sort().equals(expectedSort)) {
+            throw new IllegalArgumentException("Cursor does not match sort");
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.jobup.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a (Mongo cursor backed) stream of DTOs straight to the response, one element at a
+ * time, so memory stays flat regardless of result size. Clients opt in with {@code ?stream=true};
+ * {@code Accept: application/x-ndjson} gets one JSON document per line, anything else a
+ * chunked JSON array.
+ */
+public final class StreamingJson {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private StreamingJson() {}
+
+    public static <T> ResponseEntity<StreamingResponseBody> respond(ObjectMapper mapper, String accept,
+                                                                    Supplier<Stream<T>> source) {
+        boolean ndjson = accept != null && accept.contains(NDJSON);
+        // Let the servlet buffer decide when to send a chunk instead of flushing per element
+        ObjectWriter writer = mapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        StreamingResponseBody body = out -> {
+            try (Stream<T> items = source.get();
+                 SequenceWriter sequence = ndjson
+                         ? writer.withRootValueSeparator("\n").writeValues(out)
+                         : writer.writeValuesAsArray(out)) {
+                for (T item : (Iterable<T>) items::iterator) {
+                    sequence.write(item);
+                }
+            }
+            if (ndjson) {
+                out.write('\n');
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType(NDJSON) : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
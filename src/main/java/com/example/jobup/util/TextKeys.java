@@ -0,0 +1,25 @@
+package com.example.jobup.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical lookup keys for free-text values such as city names and job types:
+ * trimmed, lower-cased, accents folded and inner whitespace collapsed, so
+ * "  Gabès ", "gabes" and "GABES" all compare equal.
+ */
+public final class TextKeys {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextKeys() {}
+
+    public static String normalize(String value) {
+        if (value == null) return null;
+        String folded = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        String key = WHITESPACE.matcher(folded.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+}
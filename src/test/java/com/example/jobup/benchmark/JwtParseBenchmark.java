@@ -0,0 +1,86 @@
+package com.example.jobup.benchmark;
+
+import com.example.jobup.entities.Role;
+import com.example.jobup.entities.User;
+import com.example.jobup.security.VerifiedClaims;
+import com.example.jobup.services.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost in JwtAuthenticationFilter.
+ * <ul>
+ *   <li>{@code legacyPerRequest}: the old path - four full parses, each rebuilding the key and parser.</li>
+ *   <li>{@code parseOncePerRequest}: one {@link JwtUtil#parseVerified} on the cached parser.</li>
+ * </ul>
+ * Run {@link #main} on the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        User user = User.builder()
+                .id("64a6c6b42d8e4f59")
+                .username("bench-user")
+                .roles(Set.of(Role.ROLE_CLIENT, Role.ROLE_WORKER))
+                .build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Object legacyPerRequest() {
+        // extractUserId + extractPreferredUsername, then validateToken -> preferred + expiration
+        String userId = legacyClaims(token).getSubject();
+        String preferred = (String) legacyClaims(token).get("preferred_username");
+        String again = (String) legacyClaims(token).get("preferred_username");
+        Date exp = legacyClaims(token).getExpiration();
+        boolean ok = again.equals(preferred) && !exp.before(new Date());
+        return ok ? userId : null;
+    }
+
+    @Benchmark
+    public VerifiedClaims parseOncePerRequest() {
+        VerifiedClaims claims = jwtUtil.parseVerified(token);
+        return claims.isExpired() ? null : claims;
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtParseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
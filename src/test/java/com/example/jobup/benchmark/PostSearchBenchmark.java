@@ -0,0 +1,179 @@
+package com.example.jobup.benchmark;
+
+import com.example.jobup.dto.PostSearchPageDto;
+import com.example.jobup.entities.JobPost;
+import com.example.jobup.services.JobPostService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Constructor;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Latency of {@link JobPostService#search} against a synthetic job_posts collection
+ * (1M documents by default). Needs a running MongoDB:
+ * {@code -Dbench.mongo.uri=mongodb://localhost:27017 -Dbench.posts=1000000}.
+ * The collection is seeded once and reused on later runs. SampleTime mode reports p0.95
+ * per benchmark alongside the mean; {@code regexBaseline} is the case-insensitive regex
+ * scan a search would need without the text index, for a before/after comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PostSearchBenchmark {
+
+    private static final String DATABASE = "jobup_bench";
+    private static final String[] TRADES = {
+            "plumber", "electrician", "carpenter", "painter", "gardener", "mason", "welder",
+            "mechanic", "cleaner", "roofer", "tiler", "locksmith", "mover", "tutor", "driver"};
+    private static final String[] WORDS = {
+            "urgent", "repair", "install", "kitchen", "bathroom", "garden", "leak", "wall",
+            "door", "window", "weekend", "apartment", "villa", "office", "quick", "small",
+            "large", "renovation", "maintenance", "emergency", "estimate", "experienced"};
+    private static final String[] CITIES = {
+            "Tunis", "Sfax", "Sousse", "Kairouan", "Bizerte", "Gabes", "Ariana", "Gafsa",
+            "Monastir", "Nabeul", "Ben Arous", "Kasserine", "Medenine", "Mahdia", "Tozeur"};
+
+    private MongoClient client;
+    private MongoTemplate template;
+    private JobPostService service;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private Instant now;
+
+    @Setup
+    public void setup() {
+        client = MongoClients.create(System.getProperty("bench.mongo.uri", "mongodb://localhost:27017"));
+        template = new MongoTemplate(client, DATABASE);
+        long target = Long.getLong("bench.posts", 1_000_000L);
+        now = Instant.now();
+
+        IndexOperations indexOps = template.indexOps(JobPost.class);
+        IndexResolver.create(template.getConverter().getMappingContext())
+                .resolveIndexFor(JobPost.class)
+                .forEach(indexOps::createIndex);
+        seed(template, target);
+
+        service = searchService(template);
+    }
+
+    /**
+     * {@link JobPostService#search} only touches MongoTemplate, so every other collaborator is
+     * left null. Matching constructor parameters by type keeps this working as the service grows.
+     */
+    static JobPostService searchService(MongoTemplate template) {
+        Constructor<?> constructor = JobPostService.class.getConstructors()[0];
+        Object[] args = Arrays.stream(constructor.getParameterTypes())
+                .map(type -> type.isInstance(template) ? template : null)
+                .toArray();
+        JobPostService service = (JobPostService) BeanUtils.instantiateClass(constructor, args);
+        ReflectionTestUtils.setField(service, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+        ReflectionTestUtils.setField(service, "maxSearchResults", 1000);
+        return service;
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public List<Document> regexBaseline() {
+        Pattern term = Pattern.compile(Pattern.quote(pick(TRADES)), Pattern.CASE_INSENSITIVE);
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("title").regex(term), Criteria.where("description").regex(term)))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(20);
+        return template.find(query, Document.class, "job_posts");
+    }
+
+    @Benchmark
+    public PostSearchPageDto singleTerm() {
+        return service.search(pick(TRADES), null, null, null, 0, 20, "viewer");
+    }
+
+    @Benchmark
+    public PostSearchPageDto multiTerm() {
+        return service.search(pick(TRADES) + " " + pick(WORDS) + " " + pick(WORDS), null, null, null, 0, 20, "viewer");
+    }
+
+    @Benchmark
+    public PostSearchPageDto filtered() {
+        Instant from = now.minus(30, ChronoUnit.DAYS);
+        return service.search(pick(TRADES) + " " + pick(WORDS), pick(CITIES), from, null, 0, 20, "viewer");
+    }
+
+    @Benchmark
+    public PostSearchPageDto deepPage() {
+        return service.search(pick(TRADES), null, null, null, 20, 20, "viewer");
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private void seed(MongoTemplate template, long target) {
+        long existing = template.getCollection("job_posts").estimatedDocumentCount();
+        if (existing >= target) return;
+
+        SplittableRandom seedRandom = new SplittableRandom(7);
+        List<Document> batch = new ArrayList<>(10_000);
+        for (long i = existing; i < target; i++) {
+            String trade = TRADES[seedRandom.nextInt(TRADES.length)];
+            StringBuilder description = new StringBuilder("Looking for a ").append(trade);
+            for (int w = 0; w < 12; w++) {
+                description.append(' ').append(WORDS[seedRandom.nextInt(WORDS.length)]);
+            }
+            List<String> likes = new ArrayList<>();
+            for (int l = seedRandom.nextInt(30); l > 0; l--) {
+                likes.add("user-" + seedRandom.nextInt(50_000));
+            }
+            batch.add(new Document("title", WORDS[seedRandom.nextInt(WORDS.length)] + " " + trade + " needed")
+                    .append("description", description.toString())
+                    .append("location", CITIES[seedRandom.nextInt(CITIES.length)])
+                    .append("createdAt", java.util.Date.from(now.minusSeconds(seedRandom.nextLong(365L * 24 * 3600))))
+                    .append("createdById", "user-" + seedRandom.nextInt(50_000))
+                    .append("createdByName", "Bench User")
+                    .append("likes", likes)
+                    .append("savedBy", List.of())
+                    .append("commentCount", seedRandom.nextInt(20))
+                    .append("attachmentFileIds", List.of()));
+            if (batch.size() == 10_000) {
+                template.getCollection("job_posts").insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            template.getCollection("job_posts").insertMany(batch);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PostSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.jobup.config;
+
+import com.example.jobup.entities.Role;
+import com.example.jobup.entities.User;
+import com.example.jobup.security.TokenRevocationList;
+import com.example.jobup.security.VerifiedTokenCache;
+import com.example.jobup.services.JwtUtil;
+import com.example.jobup.services.TokenVersionService;
+import com.example.jobup.services.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTests {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final TokenVersionService tokenVersionService = new TokenVersionService(mongoTemplate);
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, tokenVersionService, new SimpleMeterRegistry());
+    private final UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+    private final TokenRevocationList revocationList = mock(TokenRevocationList.class);
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenVersionService, cache, revocationList);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 900_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "ttlMs", 300_000L);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static User client() {
+        return User.builder().id("u1").username("alice").roles(new HashSet<>(Set.of(Role.ROLE_CLIENT))).build();
+    }
+
+    private Authentication filterWith(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/workers");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static List<String> authoritiesOf(Authentication auth) {
+        return auth.getAuthorities().stream().map(Object::toString).toList();
+    }
+
+    @Test
+    void currentTokenAuthenticatesFromClaimsWithoutTheDatabase() throws Exception {
+        tokenVersionService.refresh();
+
+        Authentication auth = filterWith(jwtUtil.generateToken(client()));
+
+        assertThat(auth.getName()).isEqualTo("u1");
+        assertThat(authoritiesOf(auth)).containsExactly("ROLE_CLIENT");
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void tokenIssuedBeforeARoleAdditionGetsItsRolesFromTheDatabase() throws Exception {
+        tokenVersionService.refresh();
+        User user = client();
+        String token = jwtUtil.generateToken(user);
+
+        user.addRole(Role.ROLE_WORKER);
+        user.bumpRolesVersion();
+        tokenVersionService.publish(user);
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
+
+        Authentication auth = filterWith(token);
+
+        assertThat(auth.getName()).isEqualTo("u1");
+        assertThat(authoritiesOf(auth)).containsExactlyInAnyOrder("ROLE_CLIENT", "ROLE_WORKER");
+    }
+
+    @Test
+    void tokenIssuedBeforeACredentialChangeStaysAnonymous() throws Exception {
+        tokenVersionService.refresh();
+        User user = client();
+        String token = jwtUtil.generateToken(user);
+
+        user.bumpTokenVersion();
+        tokenVersionService.publish(user);
+
+        assertThat(filterWith(token)).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void databaseRejectsABumpThisNodeHasNotSeenYet() throws Exception {
+        tokenVersionService.refresh();
+        User user = client();
+        String token = jwtUtil.generateToken(user);
+
+        // Bumped on another node: only the stored user knows, and this node sees it through a role addition
+        user.bumpTokenVersion();
+        User rolesOnly = client();
+        rolesOnly.bumpRolesVersion();
+        tokenVersionService.publish(rolesOnly);
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
+
+        assertThat(filterWith(token)).isNull();
+    }
+
+    @Test
+    void everyTokenGoesToTheDatabaseUntilVersionsHaveLoaded() throws Exception {
+        User user = client();
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
+
+        Authentication auth = filterWith(jwtUtil.generateToken(user));
+
+        assertThat(auth.getName()).isEqualTo("u1");
+        verify(userDetailsService).loadUserByUsername("alice");
+    }
+
+    @Test
+    void revokedTokenStaysAnonymous() throws Exception {
+        tokenVersionService.refresh();
+        when(revocationList.isRevoked(anyString())).thenReturn(true);
+
+        assertThat(filterWith(jwtUtil.generateToken(client()))).isNull();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.jobup.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "ipCapacity", 3);
+        ReflectionTestUtils.setField(limiter, "ipRefillPerMinute", 3);
+        ReflectionTestUtils.setField(limiter, "usernameCapacity", 2);
+        ReflectionTestUtils.setField(limiter, "usernameRefillPerMinute", 2);
+        ReflectionTestUtils.setField(limiter, "availabilityCapacity", 1);
+        ReflectionTestUtils.setField(limiter, "availabilityRefillPerMinute", 1);
+        ReflectionTestUtils.setField(limiter, "idleEvictMs", 600_000L);
+        ReflectionTestUtils.setField(limiter, "maxKeys", 100);
+        limiter.init();
+    }
+
+    @Test
+    void usernameBucketIsSharedAcrossAddressesAndSpellings() {
+        assertThat(limiter.tryAcquire("Alice", "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire(" alice ", "10.0.0.2")).isZero();
+
+        long retryAfter = limiter.tryAcquire("ALICE", "10.0.0.3");
+
+        // 2 per minute: the next token is 30 s away
+        assertThat(retryAfter).isBetween(1L, 30L);
+        assertThat(meterRegistry.get("auth.login.throttled").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void addressSprayingUsernamesIsStoppedByTheAddressBucket() {
+        assertThat(limiter.tryAcquire("u1", "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("u2", "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("u3", "10.0.0.1")).isZero();
+
+        assertThat(limiter.tryAcquire("u4", "10.0.0.1")).isPositive();
+        // u4's own bucket was not charged by the rejected attempt
+        assertThat(limiter.tryAcquire("u4", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    void availabilityLookupsHaveTheirOwnBudget() {
+        assertThat(limiter.tryAcquireLookup("10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquireLookup("10.0.0.1")).isPositive();
+
+        assertThat(limiter.tryAcquire("alice", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void disabledLimiterNeverThrottles() {
+        ReflectionTestUtils.setField(limiter, "enabled", false);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("alice", "10.0.0.1")).isZero();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.jobup.security;
+
+import com.example.jobup.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledPasswordEncoderTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger hashes = new AtomicInteger();
+
+    // Like BCrypt: ignores interrupts and only returns once released
+    private final PasswordEncoder slowDelegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashes.incrementAndGet();
+            while (true) {
+                try {
+                    if (release.await(10, TimeUnit.SECONDS)) return "hash";
+                } catch (InterruptedException ignored) {
+                    // keep going, as BCrypt would
+                }
+            }
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private final PooledPasswordEncoder encoder = new PooledPasswordEncoder(slowDelegate, 1, 1, 100, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    void timedOutHashKeepsRunningAndIsCountedAsAbandoned() throws Exception {
+        assertThatThrownBy(() -> encoder.encode("secret")).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(counter("password.hash.abandoned")).isZero();
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (counter("password.hash.abandoned") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(counter("password.hash.abandoned")).isEqualTo(1);
+        assertThat(counter("password.hash.rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void timedOutQueuedHashNeverRunsAndFreesItsSlot() throws Exception {
+        CompletableFuture<Void> busy = CompletableFuture.runAsync(() -> {
+            try {
+                encoder.encode("first");
+            } catch (ServiceOverloadedException ignored) {
+                // expected: the single thread is held until release
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (hashes.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.encode("queued")).isInstanceOf(ServiceOverloadedException.class);
+        busy.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("password.hash.queue.depth").gauge().value()).isZero();
+
+        release.countDown();
+        assertThat(encoder.encode("after")).isEqualTo("hash");
+        // "first" and "after" ran; "queued" was dropped before it started
+        assertThat(hashes.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.jobup.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTests {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    @Test
+    void allowsBurstUpToCapacityThenThrottles() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 60, 100, clock::get);
+
+        assertThat(limiter.acquire("a")).isZero();
+        assertThat(limiter.acquire("a")).isZero();
+        assertThat(limiter.acquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+        // Other keys have their own bucket
+        assertThat(limiter.tryAcquire("b")).isTrue();
+    }
+
+    @Test
+    void waitMatchesTheRefillRate() {
+        // One token per second
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, 100, clock::get);
+        limiter.acquire("a");
+
+        long wait = limiter.acquire("a");
+        assertThat(wait).isBetween(TimeUnit.MILLISECONDS.toNanos(999), TimeUnit.MILLISECONDS.toNanos(1001));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertThat(limiter.acquire("a")).isBetween(TimeUnit.MILLISECONDS.toNanos(599), TimeUnit.MILLISECONDS.toNanos(601));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        assertThat(limiter.acquire("a")).isZero();
+    }
+
+    @Test
+    void refillNeverExceedsCapacity() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, 100, clock::get);
+        limiter.acquire("a");
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+    }
+
+    @Test
+    void evictIdleDropsOnlyUntouchedBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 60, 100, clock::get);
+        limiter.acquire("old");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limiter.acquire("recent");
+
+        assertThat(limiter.evictIdle(TimeUnit.SECONDS.toNanos(5))).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void fullMapThrottlesNewKeysUntilABucketHasRefilled() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, 2, clock::get);
+        limiter.acquire("a");
+        limiter.acquire("b");
+
+        assertThat(limiter.acquire("c")).isEqualTo(limiter.fullRefillNanos());
+        // Known keys are still served from their own bucket
+        assertThat(limiter.acquire("a")).isPositive().isLessThan(limiter.fullRefillNanos() + 1);
+        assertThat(limiter.size()).isEqualTo(2);
+
+        clock.addAndGet(limiter.fullRefillNanos() + TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.acquire("c")).isZero();
+        assertThat(limiter.size()).isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.jobup.security;
+
+import com.example.jobup.entities.Role;
+import com.example.jobup.entities.User;
+import com.example.jobup.services.JwtUtil;
+import com.example.jobup.services.TokenVersionService;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VerifiedTokenCacheTests {
+
+    private final JwtUtil jwtUtil = spy(new JwtUtil());
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final TokenVersionService tokenVersionService = new TokenVersionService(mongoTemplate);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, tokenVersionService, meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 900_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "ttlMs", 300_000L);
+        cache.init();
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(List.of());
+        tokenVersionService.refresh();
+    }
+
+    private static User user(String id) {
+        return User.builder().id(id).username(id + "-name").roles(new HashSet<>(Set.of(Role.ROLE_CLIENT))).build();
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        String token = jwtUtil.generateToken(user("u1"));
+
+        VerifiedTokenCache.Entry first = cache.getOrVerify(token);
+        VerifiedTokenCache.Entry second = cache.getOrVerify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.principal()).isEqualTo(new CurrentUser("u1", "u1-name"));
+        assertThat(first.authorities()).extracting(Object::toString).containsExactly("ROLE_CLIENT");
+        verify(jwtUtil, times(1)).parseVerified(token);
+        assertThat(meterRegistry.get("jwt.cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItsTokenVersionIsBumped() {
+        User user = user("u1");
+        String token = jwtUtil.generateToken(user);
+        cache.getOrVerify(token);
+
+        user.bumpTokenVersion();
+        tokenVersionService.publish(user);
+
+        assertThatThrownBy(() -> cache.getOrVerify(token)).isInstanceOf(JwtException.class);
+        assertThat(cache.size()).isZero();
+        // Failures are not cached: the next attempt verifies (and rejects) again
+        assertThatThrownBy(() -> cache.getOrVerify(token)).isInstanceOf(JwtException.class);
+        verify(jwtUtil, times(2)).parseVerified(token);
+    }
+
+    @Test
+    void roleAdditionKeepsTheTokenValid() {
+        User user = user("u1");
+        String token = jwtUtil.generateToken(user);
+
+        user.bumpRolesVersion();
+        tokenVersionService.publish(user);
+
+        VerifiedTokenCache.Entry entry = cache.getOrVerify(token);
+        assertThat(tokenVersionService.isCurrent(entry.claims())).isFalse();
+    }
+
+    @Test
+    void tamperedTokenIsRejectedAndNotCached() {
+        String token = jwtUtil.generateToken(user("u1"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> cache.getOrVerify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictUserDropsOnlyThatUsersTokens() {
+        cache.getOrVerify(jwtUtil.generateToken(user("u1")));
+        cache.getOrVerify(jwtUtil.generateToken(user("u1")));
+        cache.getOrVerify(jwtUtil.generateToken(user("u2")));
+
+        cache.evictUser("u1");
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
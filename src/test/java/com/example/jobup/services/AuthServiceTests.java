@@ -0,0 +1,81 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.RegisterRequestDto;
+import com.example.jobup.entities.User;
+import com.example.jobup.exceptions.DuplicateAccountException;
+import com.example.jobup.repositories.UserRepository;
+import com.example.jobup.security.TokenRevocationList;
+import com.example.jobup.security.VerifiedTokenCache;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserAvailabilityService userAvailabilityService = mock(UserAvailabilityService.class);
+    private final AuthService authService = new AuthService(
+            userRepository, mock(PasswordEncoder.class), mock(JwtUtil.class), mock(AuthenticationManager.class),
+            mock(TokenVersionService.class), mock(VerifiedTokenCache.class), userAvailabilityService,
+            mock(RefreshTokenService.class), mock(TokenRevocationList.class));
+
+    private static DuplicateKeyException duplicateOn(String index) {
+        WriteError error = new WriteError(11000,
+                "E11000 duplicate key error collection: jobup.users index: " + index + " dup key: { " + index + ": \"x\" }",
+                new BsonDocument());
+        return new DuplicateKeyException("Write operation error", new MongoWriteException(error, new ServerAddress()));
+    }
+
+    private static RegisterRequestDto request() {
+        RegisterRequestDto request = new RegisterRequestDto();
+        request.setUsername("alice");
+        request.setEmail("alice@x.tn");
+        request.setPassword("secret123");
+        return request;
+    }
+
+    @Test
+    void emailIndexViolationIsReportedAsEmail() {
+        when(userRepository.insert(any(User.class))).thenThrow(duplicateOn(User.EMAIL_INDEX));
+
+        assertThatThrownBy(() -> authService.register(request()))
+                .isInstanceOfSatisfying(DuplicateAccountException.class,
+                        e -> assertThat(e.getField()).isEqualTo(DuplicateAccountException.Field.EMAIL));
+        verify(userRepository, never()).findByUsername(any());
+        verify(userAvailabilityService, never()).record(any());
+    }
+
+    @Test
+    void usernameIndexViolationIsReportedAsUsername() {
+        when(userRepository.insert(any(User.class))).thenThrow(duplicateOn(User.USERNAME_INDEX));
+
+        assertThatThrownBy(() -> authService.register(request()))
+                .isInstanceOfSatisfying(DuplicateAccountException.class,
+                        e -> assertThat(e.getField()).isEqualTo(DuplicateAccountException.Field.USERNAME));
+    }
+
+    @Test
+    void unrecognizedErrorFallsBackToLookingUpTheHolder() {
+        when(userRepository.insert(any(User.class))).thenThrow(new DuplicateKeyException("duplicate"));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authService.register(request()))
+                .isInstanceOfSatisfying(DuplicateAccountException.class,
+                        e -> assertThat(e.getField()).isEqualTo(DuplicateAccountException.Field.EMAIL));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.CursorPageDto;
+import com.example.jobup.dto.JobPostDto;
+import com.example.jobup.dto.JobPostSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryPostCacheTests {
+
+    private final InMemoryPostCache cache = new InMemoryPostCache(new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxFeedPages", 16);
+        ReflectionTestUtils.setField(cache, "maxPosts", 16);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxTrackedPosts", 2);
+        cache.init();
+    }
+
+    private static CursorPageDto<JobPostSummaryDto> page(String... ids) {
+        List<JobPostSummaryDto> items = Arrays.stream(ids)
+                .map(id -> JobPostSummaryDto.builder().id(id).build())
+                .toList();
+        return CursorPageDto.<JobPostSummaryDto>builder().items(items).hasMore(false).build();
+    }
+
+    private static JobPostDto post(String id) {
+        return JobPostDto.builder().id(id).title(id).build();
+    }
+
+    @Test
+    void evictingAPostDropsItsDetailAndOnlyThePagesListingIt() {
+        long v = cache.version();
+        cache.putFeedPage(null, 20, page("a", "b"), v);
+        cache.putFeedPage("c1", 20, page("c", "d"), v);
+        cache.putPost(post("a"), v);
+
+        cache.evictPost("a");
+
+        assertThat(cache.getFeedPage(null, 20)).isEmpty();
+        assertThat(cache.getPost("a")).isEmpty();
+        assertThat(cache.getFeedPage("c1", 20)).isPresent();
+    }
+
+    @Test
+    void newPostDropsOnlyFirstPages() {
+        long v = cache.version();
+        cache.putFeedPage(null, 20, page("a"), v);
+        cache.putFeedPage("c1", 20, page("b"), v);
+
+        cache.evictFeedHead();
+
+        assertThat(cache.getFeedPage(null, 20)).isEmpty();
+        assertThat(cache.getFeedPage("c1", 20)).isPresent();
+    }
+
+    @Test
+    void putRacingAnEvictionOfItsPostIsDropped() {
+        long v = cache.version(); // read before loading
+        cache.evictPost("a");     // a write lands while the reader queries Mongo
+
+        cache.putPost(post("a"), v);
+        cache.putFeedPage("c1", 20, page("a", "b"), v);
+
+        assertThat(cache.getPost("a")).isEmpty();
+        assertThat(cache.getFeedPage("c1", 20)).isEmpty();
+    }
+
+    @Test
+    void evictionOfAnotherPostDoesNotBlockThePut() {
+        long v = cache.version();
+        cache.evictPost("z");
+
+        cache.putPost(post("a"), v);
+        cache.putFeedPage("c1", 20, page("a", "b"), v);
+
+        assertThat(cache.getPost("a")).isPresent();
+        assertThat(cache.getFeedPage("c1", 20)).isPresent();
+    }
+
+    @Test
+    void firstPageRacingANewPostIsDropped() {
+        long v = cache.version();
+        cache.evictFeedHead();
+
+        cache.putFeedPage(null, 20, page("a"), v);
+        cache.putFeedPage("c1", 20, page("b"), v);
+
+        assertThat(cache.getFeedPage(null, 20)).isEmpty();
+        assertThat(cache.getFeedPage("c1", 20)).isPresent();
+    }
+
+    @Test
+    void postsFallingOutOfTheTrackedSetCountAsChanged() {
+        long v = cache.version();
+        cache.evictPost("a");
+        cache.evictPost("b");
+        cache.evictPost("c"); // maxTrackedPosts = 2: "a" is forgotten and raises the floor
+
+        cache.putPost(post("a"), v);
+        assertThat(cache.getPost("a")).isEmpty();
+
+        cache.putPost(post("a"), cache.version());
+        assertThat(cache.getPost("a")).isPresent();
+    }
+
+    @Test
+    void expiredEntriesAreMisses() {
+        ReflectionTestUtils.setField(cache, "ttlMs", -1L);
+        cache.putPost(post("a"), cache.version());
+
+        assertThat(cache.getPost("a")).isEmpty();
+    }
+}
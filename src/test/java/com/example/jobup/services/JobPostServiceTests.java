@@ -0,0 +1,194 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.CursorPageDto;
+import com.example.jobup.dto.JobPostSummaryDto;
+import com.example.jobup.dto.PostToggleResultDto;
+import com.example.jobup.entities.NotificationType;
+import com.example.jobup.repositories.JobPostRepository;
+import com.example.jobup.repositories.PostCommentRepository;
+import com.example.jobup.repositories.UserRepository;
+import com.example.jobup.util.FeedCursor;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobPostServiceTests {
+
+    private static final String POST_ID = "64a6c6b42d8e4f5900000001";
+
+    private final JobPostRepository jobPostRepository = mock(JobPostRepository.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final IPostCache postCache = mock(IPostCache.class);
+    private final JobPostService service = new JobPostService(jobPostRepository, mock(PostCommentRepository.class),
+            notificationService, userRepository, mongoTemplate, postCache, mock(WatermarkService.class),
+            mock(IGeocoder.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+    }
+
+    private static Document post(int count) {
+        return new Document("_id", POST_ID).append("title", "Leak").append("createdById", "owner")
+                .append("createdByName", "Owner").append("count", count);
+    }
+
+    private void addToSetReturns(Document result) {
+        when(mongoTemplate.findAndModify(any(Query.class), argThat((Update u) -> u != null && u.getUpdateObject().containsKey("$addToSet")),
+                any(FindAndModifyOptions.class), eq(Document.class), eq("job_posts"))).thenReturn(result);
+    }
+
+    private void pullReturns(Document result) {
+        when(mongoTemplate.findAndModify(any(Query.class), argThat((Update u) -> u != null && u.getUpdateObject().containsKey("$pull")),
+                any(FindAndModifyOptions.class), eq(Document.class), eq("job_posts"))).thenReturn(result);
+    }
+
+    @Test
+    void firstLikeAddsAndNotifiesTheOwner() {
+        addToSetReturns(post(3));
+        when(userRepository.findById("w1")).thenReturn(Optional.empty());
+
+        PostToggleResultDto result = service.likePost(POST_ID, "w1");
+
+        assertThat(result.isActive()).isTrue();
+        assertThat(result.getCount()).isEqualTo(3);
+        verify(postCache).evictPost(POST_ID);
+        verify(notificationService).createNotification(eq("owner"), eq("Owner"), eq("w1"), eq("Someone"),
+                eq(POST_ID), eq("Leak"), eq(NotificationType.POST_LIKED), any());
+    }
+
+    @Test
+    void secondLikeRemovesWithoutNotifying() {
+        addToSetReturns(null);
+        pullReturns(post(2));
+
+        PostToggleResultDto result = service.likePost(POST_ID, "w1");
+
+        assertThat(result.isActive()).isFalse();
+        assertThat(result.getCount()).isEqualTo(2);
+        verify(notificationService, never()).createNotification(anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void ownerLikingTheirOwnPostIsNotNotified() {
+        addToSetReturns(post(1));
+
+        assertThat(service.likePost(POST_ID, "owner").isActive()).isTrue();
+        verify(notificationService, never()).createNotification(anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void togglingAMissingPostFailsWithoutRetrying() {
+        addToSetReturns(null);
+        pullReturns(null);
+        when(mongoTemplate.exists(any(Query.class), eq("job_posts"))).thenReturn(false);
+
+        assertThatThrownBy(() -> service.savePost(POST_ID, "w1")).isInstanceOf(NoSuchElementException.class);
+        verify(postCache, never()).evictPost(anyString());
+    }
+
+    @Test
+    void bothGuardsMissingRepeatedlyGivesUp() {
+        addToSetReturns(null);
+        pullReturns(null);
+        when(mongoTemplate.exists(any(Query.class), eq("job_posts"))).thenReturn(true);
+
+        assertThatThrownBy(() -> service.savePost(POST_ID, "w1")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static JobPostSummaryDto summary(String id, Instant createdAt) {
+        return JobPostSummaryDto.builder().id(id).title(id).createdAt(createdAt).build();
+    }
+
+    private void summariesReturn(JobPostSummaryDto... posts) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("job_posts"), eq(JobPostSummaryDto.class)))
+                .thenReturn(new AggregationResults<>(List.of(posts), new Document()));
+    }
+
+    @Test
+    void feedMissLoadsOneExtraRowToFindTheNextCursorAndCachesThePage() {
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+        when(postCache.version()).thenReturn(7L);
+        when(postCache.getFeedPage(null, 2)).thenReturn(Optional.empty());
+        summariesReturn(summary("p3", t.plusSeconds(2)), summary("p2", t.plusSeconds(1)), summary("p1", t));
+
+        CursorPageDto<JobPostSummaryDto> page = service.getFeed(null, null, null);
+
+        assertThat(page.getItems()).extracting(JobPostSummaryDto::getId).containsExactly("p3", "p2");
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(FeedCursor.decode(page.getNextCursor())).isEqualTo(new FeedCursor(t.plusSeconds(1), "p2"));
+        verify(postCache).putFeedPage(null, 2, page, 7L);
+    }
+
+    @Test
+    void lastFeedPageHasNoCursor() {
+        when(postCache.getFeedPage(anyString(), anyInt())).thenReturn(Optional.empty());
+        summariesReturn(summary("p1", Instant.EPOCH));
+
+        CursorPageDto<JobPostSummaryDto> page = service.getFeed(
+                new FeedCursor(Instant.EPOCH.plusSeconds(5), "64a6c6b42d8e4f5900000009").encode(), 2, null);
+
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void feedHitSkipsTheQueryAndOnlyLooksUpViewerFlags() {
+        CursorPageDto<JobPostSummaryDto> cached = CursorPageDto.<JobPostSummaryDto>builder()
+                .items(List.of(summary(POST_ID, Instant.EPOCH))).hasMore(false).build();
+        when(postCache.getFeedPage(null, 2)).thenReturn(Optional.of(cached));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("job_posts"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(
+                        new Document("_id", POST_ID).append("likedByMe", true).append("savedByMe", false)), new Document()));
+
+        CursorPageDto<JobPostSummaryDto> page = service.getFeed(null, 2, "viewer");
+
+        assertThat(page.getItems().get(0).isLikedByMe()).isTrue();
+        assertThat(page.getItems().get(0).isSavedByMe()).isFalse();
+        // The cached page itself stays viewer-independent
+        assertThat(cached.getItems().get(0).isLikedByMe()).isFalse();
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq("job_posts"), eq(JobPostSummaryDto.class));
+        verify(postCache, never()).putFeedPage(any(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    void anonymousFeedNeedsNoFlagLookup() {
+        CursorPageDto<JobPostSummaryDto> cached = CursorPageDto.<JobPostSummaryDto>builder()
+                .items(List.of(summary(POST_ID, Instant.EPOCH))).hasMore(false).build();
+        when(postCache.getFeedPage(null, 2)).thenReturn(Optional.of(cached));
+
+        assertThat(service.getFeed(null, 2, null)).isSameAs(cached);
+        verify(mongoTemplate, times(0)).aggregate(any(Aggregation.class), anyString(), any(Class.class));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.NotificationDto;
+import com.example.jobup.entities.Notification;
+import com.example.jobup.entities.NotificationType;
+import com.example.jobup.repositories.NotificationRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTests {
+
+    private final NotificationRepository repository = mock(NotificationRepository.class);
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final NotificationService service =
+            new NotificationService(repository, messagingTemplate, mongoTemplate, mock(WatermarkService.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "coalesceEnabled", true);
+        ReflectionTestUtils.setField(service, "coalesceWindowMs", 3_600_000L);
+        ReflectionTestUtils.setField(service, "recentActors", 3);
+        ReflectionTestUtils.setField(service, "pushIntervalMs", 30_000L);
+        when(repository.save(any(Notification.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private NotificationDto like(String senderId) {
+        return service.createNotification("owner", "Owner", senderId, senderId + "-name",
+                "post1", "Leak", NotificationType.POST_LIKED, null);
+    }
+
+    private void mergeReturns(Notification merged) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Notification.class))).thenReturn(merged);
+    }
+
+    private static Notification group(int actors, Instant pushedAt) {
+        return Notification.builder().id("n1").recipientId("owner").refId("post1").type(NotificationType.POST_LIKED)
+                .actorCount(actors).actorIds(List.of("s1", "s2")).recentActorNames(List.of("s1-name", "s2-name"))
+                .pushedAt(pushedAt).build();
+    }
+
+    @Test
+    void likeIsMergedIntoThePostsGroupUnlessTheSenderIsAlreadyInIt() {
+        mergeReturns(group(2, null));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Notification.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        NotificationDto dto = like("s2");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), options.capture(), eq(Notification.class));
+        assertThat(query.getValue().getQueryObject().getString("coalesceKey")).startsWith("owner:post1:POST_LIKED:");
+        assertThat(query.getValue().getQueryObject().toJson()).contains("\"actorIds\": {\"$ne\": \"s2\"}");
+        assertThat(options.getValue().isUpsert()).isTrue();
+        assertThat(dto).isNotNull();
+        verify(repository, never()).save(any(Notification.class));
+        verify(messagingTemplate).convertAndSendToUser(eq("owner"), eq("/queue/notifications"), any(Object.class));
+    }
+
+    @Test
+    void repeatEventFromTheSameSenderChangesNothing() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Notification.class))).thenThrow(new DuplicateKeyException("dup coalesceKey"));
+
+        assertThat(like("s1")).isNull();
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    void loserOfTheFirstInsertRaceMergesOnRetry() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Notification.class)))
+                .thenThrow(new DuplicateKeyException("dup coalesceKey"))
+                .thenReturn(group(2, Instant.now()));
+
+        assertThat(like("s2")).isNotNull();
+    }
+
+    @Test
+    void growingGroupIsPushedAtMostOncePerInterval() {
+        mergeReturns(group(3, Instant.now().minusSeconds(5)));
+
+        assertThat(like("s3")).isNotNull();
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Notification.class));
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    void concurrentMergeThatClaimedThePushFirstSuppressesOurs() {
+        mergeReturns(group(3, null));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Notification.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        like("s3");
+
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    void otherTypesAndCustomMessagesAreStoredOneByOne() {
+        service.createNotification("owner", "Owner", "s1", "Sam", "p1", "Deal", NotificationType.PROPOSAL_RECEIVED, null);
+        service.createNotification("owner", "Owner", "s1", "Sam", "post1", "Leak", NotificationType.POST_LIKED, "Custom");
+
+        verify(repository, times(2)).save(any(Notification.class));
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Notification.class));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.jobup.services;
+
+import com.example.jobup.entities.RefreshToken;
+import com.example.jobup.repositories.RefreshTokenRepository;
+import com.example.jobup.util.TokenHashing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTests {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final RefreshTokenService service = new RefreshTokenService(repository, mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "refreshExpirationMs", 60_000L);
+    }
+
+    private void claimReturns(RefreshToken token) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(RefreshToken.class))).thenReturn(token);
+    }
+
+    private static RefreshToken token(String raw, Instant revokedAt) {
+        return RefreshToken.builder().tokenHash(TokenHashing.sha256(raw)).userId("u1").familyId("fam")
+                .revokedAt(revokedAt).expiresAt(Instant.now().plusSeconds(60)).build();
+    }
+
+    @Test
+    void rotationIssuesASuccessorInTheSameFamily() {
+        claimReturns(token("old", null));
+
+        RefreshTokenService.Rotation rotation = service.rotate("old");
+
+        ArgumentCaptor<RefreshToken> issued = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).insert(issued.capture());
+        assertThat(rotation.userId()).isEqualTo("u1");
+        assertThat(rotation.refreshToken()).isNotEqualTo("old");
+        assertThat(issued.getValue().getFamilyId()).isEqualTo("fam");
+        assertThat(issued.getValue().getTokenHash()).isEqualTo(TokenHashing.sha256(rotation.refreshToken()));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(RefreshToken.class));
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        claimReturns(null);
+        when(repository.findByTokenHash(TokenHashing.sha256("old")))
+                .thenReturn(Optional.of(token("old", Instant.now().minusSeconds(5))));
+
+        assertThatThrownBy(() -> service.rotate("old")).isInstanceOf(RuntimeException.class);
+
+        ArgumentCaptor<Query> revoked = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(revoked.capture(), any(Update.class), eq(RefreshToken.class));
+        assertThat(revoked.getValue().getQueryObject().get("familyId")).isEqualTo("fam");
+        verify(repository, never()).insert(any(RefreshToken.class));
+    }
+
+    @Test
+    void unknownTokenIsRejectedWithoutRevokingAnything() {
+        claimReturns(null);
+        when(repository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.rotate("forged")).isInstanceOf(RuntimeException.class);
+
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(RefreshToken.class));
+    }
+
+    @Test
+    void expiredButNeverRotatedTokenIsNotTreatedAsTheft() {
+        claimReturns(null);
+        when(repository.findByTokenHash(TokenHashing.sha256("old"))).thenReturn(Optional.of(token("old", null)));
+
+        assertThatThrownBy(() -> service.rotate("old")).isInstanceOf(RuntimeException.class);
+
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(RefreshToken.class));
+    }
+}
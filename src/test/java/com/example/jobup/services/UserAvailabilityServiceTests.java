@@ -0,0 +1,78 @@
+package com.example.jobup.services;
+
+import com.example.jobup.entities.User;
+import com.example.jobup.repositories.UserRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserAvailabilityServiceTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final UserAvailabilityService service = new UserAvailabilityService(userRepository, mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "expectedUsers", 1_000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.001);
+        // Every value that gets past the filter is taken, so "available" can only come from the filter
+        when(userRepository.existsByUsername(anyString())).thenReturn(true);
+        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+    }
+
+    private void usersCollectionHolds(Stream<Document> users) {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("users"))).thenReturn(users);
+    }
+
+    @Test
+    void negativeAnswerSkipsMongo() {
+        usersCollectionHolds(Stream.of(new Document("username", "alice").append("email", "alice@x.tn")));
+        service.rebuild();
+
+        assertThat(service.isUsernameAvailable("bob")).isTrue();
+        verify(userRepository, never()).existsByUsername("bob");
+        assertThat(service.isUsernameAvailable("alice")).isFalse();
+        assertThat(service.isEmailAvailable("alice@x.tn")).isFalse();
+    }
+
+    @Test
+    void recordedUserIsTakenImmediately() {
+        usersCollectionHolds(Stream.empty());
+        service.rebuild();
+
+        service.record(User.builder().username("carol").email("carol@x.tn").build());
+
+        assertThat(service.isUsernameAvailable("carol")).isFalse();
+        assertThat(service.isEmailAvailable("carol@x.tn")).isFalse();
+    }
+
+    @Test
+    void userRecordedDuringRebuildSurvivesTheSwap() {
+        usersCollectionHolds(Stream.empty());
+        service.rebuild();
+
+        // The registration lands after the rebuild read the collection but before it swaps filters
+        usersCollectionHolds(Stream.of(new Document("username", "alice"))
+                .peek(d -> service.record(User.builder().username("dave").email("dave@x.tn").build())));
+        service.rebuild();
+
+        assertThat(service.isUsernameAvailable("dave")).isFalse();
+        assertThat(service.isEmailAvailable("dave@x.tn")).isFalse();
+        assertThat(service.isUsernameAvailable("alice")).isFalse();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.jobup.services;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class WatermarkServiceTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final WatermarkService service = new WatermarkService(mongoTemplate);
+    private final Criteria scope = Criteria.where("recipientId").is("u1");
+
+    private void scopeHolds(long count, Instant watermark, String maxId) {
+        Document stats = new Document("count", count).append("watermark", watermark).append("maxId", maxId);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("notifications"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(stats), new Document()));
+    }
+
+    private String tag() {
+        return service.etag("notifications", scope, "updatedAt", false);
+    }
+
+    @Test
+    void scopedTagIsOneAggregationOverTheScope() {
+        scopeHolds(3, Instant.ofEpochMilli(1_000), "c");
+
+        assertThat(tag()).startsWith("W/\"");
+        verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq("notifications"), eq(Document.class));
+        verifyNoMoreInteractions(mongoTemplate);
+    }
+
+    @Test
+    void scopedTagFollowsOnlyTheScopesOwnData() {
+        scopeHolds(3, Instant.ofEpochMilli(1_000), "c");
+        String before = tag();
+        assertThat(tag()).isEqualTo(before);
+
+        scopeHolds(2, Instant.ofEpochMilli(1_000), "c");
+        assertThat(tag()).as("delete").isNotEqualTo(before);
+
+        scopeHolds(3, Instant.ofEpochMilli(1_001), "c");
+        assertThat(tag()).as("update").isNotEqualTo(before);
+
+        scopeHolds(3, Instant.ofEpochMilli(1_000), "d");
+        assertThat(tag()).as("delete plus insert").isNotEqualTo(before);
+    }
+
+    @Test
+    void emptyScopeStillTags() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("notifications"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+        assertThat(tag()).startsWith("W/\"");
+    }
+
+    @Test
+    void requestKeyIsPartOfTheTag() {
+        scopeHolds(3, Instant.ofEpochMilli(1_000), "c");
+
+        assertThat(service.etag("notifications", scope, "updatedAt", true))
+                .isNotEqualTo(service.etag("notifications", scope, "updatedAt", false));
+    }
+
+    @Test
+    void unscopedTagUsesEstimatedCountAndTheWatermarkIndex() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("job_posts")))
+                .thenReturn(new Document("_id", "p9").append("updatedAt", Instant.ofEpochMilli(5)));
+        when(mongoTemplate.estimatedCount("job_posts")).thenReturn(10L);
+
+        String before = service.etag("job_posts", new Criteria(), "updatedAt");
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("job_posts")))
+                .thenReturn(new Document("_id", "p9").append("updatedAt", Instant.ofEpochMilli(6)));
+
+        assertThat(service.etag("job_posts", new Criteria(), "updatedAt")).isNotEqualTo(before);
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), anyString(), eq(Document.class));
+        verify(mongoTemplate, never()).count(any(Query.class), anyString());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.SuggestionDto;
+import com.example.jobup.entities.Worker;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkerAutocompleteServiceTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final WorkerAutocompleteService service = new WorkerAutocompleteService(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxSuggestions", 10);
+    }
+
+    private static AggregationResults<Document> counts(String value, long count) {
+        return new AggregationResults<>(List.of(new Document("_id", value).append("count", count)), new Document());
+    }
+
+    private static Worker worker(String jobType, String location) {
+        return Worker.builder().jobType(jobType).location(location).build();
+    }
+
+    private List<String> suggested(String field, String prefix) {
+        return service.suggest(field, prefix, null).stream().map(SuggestionDto::getValue).toList();
+    }
+
+    @Test
+    void changesMadeDuringTheAggregationSurviveTheReset() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Worker.class), eq(Document.class)))
+                .thenAnswer(inv -> {
+                    // A worker is created while the jobType counts are being computed, after Mongo answered
+                    service.onWorkerChanged(null, worker("Menuisier", "Sousse"));
+                    return counts("Plombier", 3);
+                })
+                .thenReturn(counts("Tunis", 3));
+
+        service.rebuild();
+
+        assertThat(suggested("jobType", "")).containsExactly("Plombier", "Menuisier");
+        assertThat(suggested("location", "")).containsExactly("Tunis", "Sousse");
+    }
+
+    @Test
+    void changesAfterTheRebuildAreNotReplayedAgain() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Worker.class), eq(Document.class)))
+                .thenReturn(counts("Plombier", 1));
+        service.rebuild();
+
+        service.onWorkerChanged(worker("Plombier", null), null);
+        service.rebuild();
+
+        assertThat(service.suggest("jobType", "plo", null)).extracting(SuggestionDto::getCount).containsExactly(1L);
+    }
+}
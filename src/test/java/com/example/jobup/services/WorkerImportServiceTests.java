@@ -0,0 +1,176 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.WorkerCreateDto;
+import com.example.jobup.dto.WorkerImportResultDto;
+import com.example.jobup.entities.Role;
+import com.example.jobup.entities.User;
+import com.example.jobup.entities.Worker;
+import com.example.jobup.mapper.WorkerMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkerImportServiceTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final WorkerMapper workerMapper = mock(WorkerMapper.class);
+    private final IGeocoder geocoder = mock(IGeocoder.class);
+    private final TokenVersionService tokenVersionService = mock(TokenVersionService.class);
+    private final WorkerAutocompleteService autocomplete = mock(WorkerAutocompleteService.class);
+    private final BulkOperations workerOps = mock(BulkOperations.class);
+    private final BulkOperations roleOps = mock(BulkOperations.class);
+    private final WorkerImportService service = new WorkerImportService(
+            mongoTemplate, workerMapper, geocoder, tokenVersionService, autocomplete, new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        ReflectionTestUtils.setField(service, "maxRows", 100);
+        ReflectionTestUtils.setField(service, "maxReportedErrors", 100);
+        when(workerMapper.toEntity(any(WorkerCreateDto.class))).thenAnswer(inv -> {
+            WorkerCreateDto dto = inv.getArgument(0);
+            return Worker.builder().jobType(dto.getJobType()).location(dto.getLocation()).build();
+        });
+        when(geocoder.geocode(any())).thenReturn(Optional.empty());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Worker.class)).thenReturn(workerOps);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)).thenReturn(roleOps);
+        when(workerOps.insert(anyList())).thenReturn(workerOps);
+    }
+
+    private static User user(String id, Role... roles) {
+        return User.builder().id(id).username(id + "-name").roles(new HashSet<>(Set.of(roles))).build();
+    }
+
+    private WorkerImportResultDto importCsv(String csv) throws Exception {
+        return service.importWorkers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                WorkerImportService.Format.CSV);
+    }
+
+    @Test
+    void badRowsAreReportedWithoutFailingTheRest() throws Exception {
+        when(mongoTemplate.find(any(Query.class), eq(User.class)))
+                .thenReturn(List.of(user("u1", Role.ROLE_CLIENT), user("u2", Role.ROLE_CLIENT, Role.ROLE_WORKER)));
+
+        WorkerImportResultDto result = importCsv("""
+                userId,jobType,location
+                u1,Plombier,Tunis
+                u2,Menuisier,Sfax
+                u3,Peintre,Sousse
+                u4,,Sousse
+                u1,Plombier,Tunis
+                """);
+
+        assertThat(result.getReceived()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(WorkerImportResultDto.RowError::getRow, WorkerImportResultDto.RowError::getError)
+                .containsExactlyInAnyOrder(
+                        tuple(3L, "User not found"),
+                        tuple(4L, "jobType is required"),
+                        tuple(5L, "Duplicate userId in import"));
+        verify(autocomplete, times(2)).onWorkerChanged(eq(null), any(Worker.class));
+    }
+
+    @Test
+    void onlyNewWorkersArePromotedAndTheirTokensStayValid() throws Exception {
+        when(mongoTemplate.find(any(Query.class), eq(User.class)))
+                .thenReturn(List.of(user("u1", Role.ROLE_CLIENT), user("u2", Role.ROLE_CLIENT, Role.ROLE_WORKER)));
+
+        importCsv("userId,jobType\nu1,Plombier\nu2,Menuisier\n");
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(roleOps, times(1)).updateOne(any(Query.class), update.capture());
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class))
+                .containsOnlyKeys("rolesVersion");
+        ArgumentCaptor<User> published = ArgumentCaptor.forClass(User.class);
+        verify(tokenVersionService).publish(published.capture());
+        assertThat(published.getValue().getId()).isEqualTo("u1");
+        assertThat(published.getValue().getRolesVersion()).isEqualTo(1);
+        assertThat(published.getValue().getTokenVersion()).isZero();
+    }
+
+    @Test
+    void existingWorkersFailIndividuallyAndAreNotPromoted() throws Exception {
+        when(mongoTemplate.find(any(Query.class), eq(User.class)))
+                .thenReturn(List.of(user("u1", Role.ROLE_CLIENT), user("u2", Role.ROLE_CLIENT)));
+        BulkWriteError duplicate = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1);
+        when(workerOps.execute()).thenThrow(new BulkOperationException("bulk write failed", new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()), List.of(duplicate), null,
+                new ServerAddress(), Set.of())));
+
+        WorkerImportResultDto result = importCsv("userId,jobType\nu1,Plombier\nu2,Menuisier\n");
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(e -> assertThat(e.getError()).isEqualTo("Worker already exists"))
+                .satisfies(e -> assertThat(e.getUserId()).isEqualTo("u2"));
+        verify(roleOps, times(1)).updateOne(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void rowsBeyondTheLimitAreNotRead() throws Exception {
+        ReflectionTestUtils.setField(service, "maxRows", 1);
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(user("u1", Role.ROLE_CLIENT)));
+
+        WorkerImportResultDto result = importCsv("userId,jobType\nu1,Plombier\nu2,Menuisier\n");
+
+        assertThat(result.isTruncated()).isTrue();
+        assertThat(result.getReceived()).isEqualTo(1);
+        verify(workerMapper, times(1)).toEntity(any(WorkerCreateDto.class));
+    }
+
+    @Test
+    void splitsPlainCells() {
+        assertThat(WorkerImportService.splitCsv("u1,plumber,+216 20 000 000,Tunis"))
+                .containsExactly("u1", "plumber", "+216 20 000 000", "Tunis");
+    }
+
+    @Test
+    void keepsEmptyCells() {
+        assertThat(WorkerImportService.splitCsv(",a,,")).containsExactly("", "a", "", "");
+        assertThat(WorkerImportService.splitCsv("")).containsExactly("");
+    }
+
+    @Test
+    void quotedCellsMayHoldCommasAndDoubledQuotes() {
+        assertThat(WorkerImportService.splitCsv("u1,\"Sidi Bou Said, Tunis\",\"says \"\"hi\"\"\""))
+                .containsExactly("u1", "Sidi Bou Said, Tunis", "says \"hi\"");
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        assertThatThrownBy(() -> WorkerImportService.splitCsv("u1,\"open"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unterminated quoted cell");
+    }
+}
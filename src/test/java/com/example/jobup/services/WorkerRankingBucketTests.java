@@ -0,0 +1,77 @@
+package com.example.jobup.services;
+
+import com.example.jobup.services.WorkerRankingService.Bucket;
+import com.example.jobup.services.WorkerRankingService.Entry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkerRankingBucketTests {
+
+    private static Entry entry(String id, double score) {
+        return new Entry(id, id, "plumber", "tunis", score, 10, score);
+    }
+
+    @Test
+    void keepsTheBestEntriesWithinCapacity() {
+        Bucket bucket = new Bucket();
+        for (int i = 1; i <= 6; i++) {
+            bucket.offer(entry("w" + i, i), 4);
+        }
+        bucket.publish(2);
+
+        assertThat(bucket.top).extracting(Entry::id).containsExactly("w6", "w5");
+        assertThat(bucket.offer(entry("w0", 0.5), 4)).isFalse();
+        assertThat(bucket.offer(entry("w7", 7), 4)).isTrue();
+    }
+
+    @Test
+    void reOfferedWorkerBelowADroppedOneStaysOut() {
+        Bucket bucket = new Bucket();
+        for (int i = 1; i <= 5; i++) {
+            bucket.offer(entry("w" + i, i), 4); // w1 is dropped
+        }
+
+        // w3 falls below w1: the freed slot must not let it back in ahead of w1
+        assertThat(bucket.offer(entry("w3", 0.5), 4)).isFalse();
+        bucket.publish(4);
+        assertThat(bucket.top).extracting(Entry::id).containsExactly("w5", "w4", "w2");
+
+        // Rising above the dropped entry is fine
+        assertThat(bucket.offer(entry("w3", 3.5), 4)).isTrue();
+    }
+
+    @Test
+    void needsReloadOnlyOnceTruncatedAndBelowK() {
+        Bucket bucket = new Bucket();
+        for (int i = 1; i <= 4; i++) {
+            bucket.offer(entry("w" + i, i), 4);
+        }
+        bucket.remove("w4");
+        bucket.remove("w3");
+        assertThat(bucket.needsReload(2)).isFalse(); // nothing was ever dropped
+
+        bucket.offer(entry("w3", 3), 4);
+        bucket.offer(entry("w4", 4), 4);
+        bucket.offer(entry("w5", 5), 4); // drops w1
+        bucket.remove("w5");
+        bucket.remove("w4");
+        assertThat(bucket.needsReload(2)).isFalse();
+        bucket.remove("w3");
+        assertThat(bucket.needsReload(2)).isTrue();
+
+        bucket.clear();
+        assertThat(bucket.needsReload(2)).isFalse();
+    }
+
+    @Test
+    void tiesBreakOnRatingsCountThenId() {
+        Bucket bucket = new Bucket();
+        bucket.offer(new Entry("b", "b", "plumber", null, 4, 10, 4), 4);
+        bucket.offer(new Entry("a", "a", "plumber", null, 4, 10, 4), 4);
+        bucket.offer(new Entry("c", "c", "plumber", null, 4, 20, 4), 4);
+        bucket.publish(3);
+
+        assertThat(bucket.top).extracting(Entry::id).containsExactly("c", "a", "b");
+    }
+}
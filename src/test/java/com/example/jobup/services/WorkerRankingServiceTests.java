@@ -0,0 +1,63 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.RankedWorkerDto;
+import com.example.jobup.entities.Worker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkerRankingServiceTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final WorkerRankingService service = new WorkerRankingService(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "k", 1);
+        ReflectionTestUtils.setField(service, "priorWeight", 10.0);
+    }
+
+    private static Worker worker(String id, String jobType, String jobTypeKey, double rating) {
+        return Worker.builder().id(id).fullName(id).jobType(jobType).jobTypeKey(jobTypeKey)
+                .rating(rating).ratingsCount(50).build();
+    }
+
+    @Test
+    void reloadFindsWorkersWhoseKeysWereNeverBackfilled() {
+        Worker best = worker("w1", "Plombier", "plombier", 5.0);
+        Worker second = worker("w2", "Plombier", "plombier", 4.5);
+        Worker unkeyed = worker("w3", " PLOMBIER ", null, 4.0);
+        Worker otherTrade = worker("w4", "Électricien", null, 4.8);
+        when(mongoTemplate.find(any(Query.class), eq(Worker.class)))
+                .thenReturn(List.of(best, second, unkeyed))
+                // The reload query also matches unkeyed workers of other trades; those must be filtered out
+                .thenReturn(List.of(unkeyed, otherTrade));
+        service.rebuild();
+
+        // k = 1 retains 2 per bucket, so w3 was dropped; removing both retained workers forces a reload
+        service.onWorkerDeleted("w1");
+        service.onWorkerDeleted("w2");
+
+        List<RankedWorkerDto> top = service.top("plombier", null, null);
+        assertThat(top).extracting(RankedWorkerDto::getId).containsExactly("w3");
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queries.capture(), eq(Worker.class));
+        assertThat(queries.getAllValues().get(1).getQueryObject().toJson())
+                .contains("\"jobTypeKey\": \"plombier\"")
+                .contains("\"jobTypeKey\": null");
+    }
+}
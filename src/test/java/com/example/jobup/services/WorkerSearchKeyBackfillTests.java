@@ -0,0 +1,59 @@
+package com.example.jobup.services;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkerSearchKeyBackfillTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final WorkerSearchKeyBackfill backfill = new WorkerSearchKeyBackfill(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(backfill, "enabled", true);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "worker")).thenReturn(bulk);
+    }
+
+    private void unkeyedWorkers(Stream<Document> docs) {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("worker"))).thenReturn(docs);
+    }
+
+    @Test
+    void keysAreWrittenInBatches() {
+        unkeyedWorkers(IntStream.range(0, 501)
+                .mapToObj(i -> new Document("_id", "w" + i).append("jobType", " Plombier ").append("location", "Sfax")));
+
+        assertThat(backfill.backfill()).isEqualTo(501);
+
+        verify(bulk, times(501)).updateOne(any(Query.class), any(Update.class));
+        verify(bulk, times(2)).execute();
+    }
+
+    @Test
+    void nothingToKeyTouchesNoBulk() {
+        unkeyedWorkers(Stream.empty());
+
+        backfill.run();
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(String.class));
+    }
+}
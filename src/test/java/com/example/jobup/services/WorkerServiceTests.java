@@ -0,0 +1,98 @@
+package com.example.jobup.services;
+
+import com.example.jobup.dto.CursorPageDto;
+import com.example.jobup.dto.WorkerQueryDto;
+import com.example.jobup.dto.WorkerResponseDto;
+import com.example.jobup.entities.Worker;
+import com.example.jobup.mapper.WorkerMapper;
+import com.example.jobup.repositories.UserRepository;
+import com.example.jobup.repositories.WorkerRepo;
+import com.example.jobup.util.RankCursor;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkerServiceTests {
+
+    private final WorkerRepo workerRepo = mock(WorkerRepo.class);
+    private final WorkerMapper workerMapper = mock(WorkerMapper.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final WorkerService service = new WorkerService(workerRepo, workerMapper, mock(UserRoleService.class),
+            mock(UserRepository.class), mock(WatermarkService.class), mock(IGeocoder.class), mongoTemplate,
+            mock(WorkerRankingService.class), mock(WorkerAutocompleteService.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+        when(workerMapper.toResponseDto(any(Worker.class)))
+                .thenAnswer(inv -> WorkerResponseDto.builder().id(((Worker) inv.getArgument(0)).getId()).build());
+    }
+
+    private static Worker worker(String id, double rating) {
+        return Worker.builder().id(id).rating(rating).ratingsCount(10).build();
+    }
+
+    private Document capturedQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Worker.class));
+        return query.getValue().getQueryObject();
+    }
+
+    @Test
+    void fullPageCarriesACursorPastItsLastWorker() {
+        when(mongoTemplate.find(any(Query.class), eq(Worker.class)))
+                .thenReturn(List.of(worker("w3", 4.9), worker("w2", 4.5), worker("w1", 4.0)));
+
+        CursorPageDto<WorkerResponseDto> page = service.query(WorkerQueryDto.builder().build());
+
+        assertThat(page.getItems()).extracting(WorkerResponseDto::getId).containsExactly("w3", "w2");
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(RankCursor.decode(page.getNextCursor(), "rating")).isEqualTo(new RankCursor("rating", 4.5, "w2"));
+    }
+
+    @Test
+    void filtersAndCursorGoIntoOneQuery() {
+        when(mongoTemplate.find(any(Query.class), eq(Worker.class))).thenReturn(List.of(worker("w1", 4.0)));
+
+        CursorPageDto<WorkerResponseDto> page = service.query(WorkerQueryDto.builder()
+                .jobType(" Plombier ").location("GABÈS").minRating(3.5).excludeUserId("me")
+                .cursor(new RankCursor("rating", 4.5, "w2").encode()).build());
+
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        String json = capturedQuery().toJson();
+        assertThat(json).contains("\"jobTypeKey\": \"plombier\"", "\"locationKey\": \"gabes\"",
+                "\"rating\": {\"$gte\": 3.5}", "\"$ne\": \"me\"", "\"rating\": {\"$lt\": 4.5}");
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        String byRating = new RankCursor("rating", 4.5, "w2").encode();
+
+        assertThatThrownBy(() -> service.query(WorkerQueryDto.builder().sort("ratingsCount").cursor(byRating).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Worker.class));
+    }
+
+    @Test
+    void unknownSortIsRejected() {
+        assertThatThrownBy(() -> service.query(WorkerQueryDto.builder().sort("fullName").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
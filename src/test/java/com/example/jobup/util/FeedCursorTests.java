@@ -0,0 +1,37 @@
+package com.example.jobup.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeedCursorTests {
+
+    @Test
+    void roundTrips() {
+        FeedCursor cursor = new FeedCursor(Instant.ofEpochMilli(1_700_000_000_123L), "65a1f0c2e4b0a1b2c3d4e5f6");
+        assertThat(FeedCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsNullCreatedAt() {
+        FeedCursor cursor = new FeedCursor(null, "65a1f0c2e4b0a1b2c3d4e5f6");
+        assertThat(FeedCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String token = new FeedCursor(Instant.ofEpochMilli(1), "a:b?c").encode();
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(FeedCursor.decode(token).id()).isEqualTo("a:b?c");
+    }
+
+    @Test
+    void rejectsTokensItDidNotProduce() {
+        assertThatThrownBy(() -> FeedCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FeedCursor.decode("bm8tc2VwYXJhdG9y")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FeedCursor.decode("YWJjOmlk")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.jobup.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTests {
+
+    @Test
+    void ranksMatchesByCountAndHonoursTheLimit() {
+        PrefixIndex index = new PrefixIndex();
+        index.reset(Map.of("Plumber", 3L, "Plasterer", 7L, "Painter", 5L, "Electrician", 9L));
+
+        assertThat(index.suggest("pl", 10)).containsExactly(
+                new PrefixIndex.Suggestion("Plasterer", 7),
+                new PrefixIndex.Suggestion("Plumber", 3));
+        assertThat(index.suggest("p", 2)).extracting(PrefixIndex.Suggestion::value)
+                .containsExactly("Plasterer", "Painter");
+    }
+
+    @Test
+    void matchesOnNormalizedFormAndMergesVariants() {
+        PrefixIndex index = new PrefixIndex();
+        index.reset(Map.of("Gabès", 2L, "gabes", 3L, "Gafsa", 1L));
+
+        assertThat(index.suggest("  GAB", 5)).hasSize(1)
+                .first().satisfies(s -> assertThat(s.count()).isEqualTo(5));
+        assertThat(index.suggest("ga", 5)).extracting(PrefixIndex.Suggestion::count).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void addAndRemoveAdjustCounts() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("Mason");
+        index.add("mason");
+        index.add("Mechanic");
+
+        assertThat(index.suggest("m", 5)).extracting(PrefixIndex.Suggestion::value).containsExactly("Mason", "Mechanic");
+
+        index.remove("Mason");
+        index.remove("Mason");
+        assertThat(index.suggest("ma", 5)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void blankPrefixListsEverythingAndUnknownPrefixNothing() {
+        PrefixIndex index = new PrefixIndex();
+        index.reset(Map.of("Tutor", 1L, "Driver", 2L));
+
+        assertThat(index.suggest(null, 5)).extracting(PrefixIndex.Suggestion::value).containsExactly("Driver", "Tutor");
+        assertThat(index.suggest("zz", 5)).isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.jobup.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankCursorTests {
+
+    @Test
+    void roundTrips() {
+        RankCursor cursor = new RankCursor("rating", 4.75, "65a1f0c2e4b0a1b2c3d4e5f6");
+        assertThat(RankCursor.decode(cursor.encode(), "rating")).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsIdsContainingTheSeparator() {
+        RankCursor cursor = new RankCursor("ratingsCount", 12, "user:42");
+        assertThat(RankCursor.decode(cursor.encode(), "ratingsCount")).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        String token = new RankCursor("rating", 4.0, "id").encode();
+        assertThatThrownBy(() -> RankCursor.decode(token, "ratingsCount"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor does not match sort");
+    }
+
+    @Test
+    void rejectsTokensItDidNotProduce() {
+        assertThatThrownBy(() -> RankCursor.decode("%%%", "rating")).isInstanceOf(IllegalArgumentException.class);
+        // "rating:abc:id": value is not a number
+        assertThatThrownBy(() -> RankCursor.decode("cmF0aW5nOmFiYzppZA", "rating"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        // "rating": missing value and id
+        assertThatThrownBy(() -> RankCursor.decode("cmF0aW5n", "rating")).isInstanceOf(IllegalArgumentException.class);
+    }
+}